@@ -3,13 +3,136 @@
 */
 package benchmarks;
 
+import interfaces.IncrementalProblem;
 import interfaces.Problem;
+import benchmarks.problemsImplementation.Kernels;
 
 /**
  * Benchmark Base Functions.
  */
 public class BaseFunctions
 {
+	/**
+	 * Base class of the functions below.
+	 * The dimensionality check is done here (once per solution by f, once per batch by evaluateBatch), subclasses only implement the function itself.
+	 */
+	public static abstract class BaseFunction extends Problem
+	{
+		public BaseFunction(int dimension, double[] bounds) { super(dimension, bounds); }
+
+		public BaseFunction(int dimension, double[][] bounds) { super(dimension, bounds); }
+
+		/**
+		 * Value of the function in x (x.length is equal to the dimensionality of the problem).
+		 *
+		 * @param x solution to be evaluated
+		 */
+		protected abstract double value(double[] x);
+
+		/**
+		 * Evaluate a solution (NaN if its length does not match the dimensionality of the problem).
+		 *
+		 * @param x solution to be evaluated
+		 */
+		public double f(double[] x)
+		{
+			if (this.getDimension() != x.length)
+			{
+				System.out.println("WARNING: the design variable does not match the dimensionality of the problem!");
+				return Double.NaN;
+			}
+			return value(x);
+		}
+
+		/**
+		 * Evaluate xs[from], ..., xs[to-1]: the lengths of the solutions are checked first, then the function is computed in a tight loop.
+		 */
+		@Override
+		public void evaluateBatch(double[][] xs, int from, int to, double[] out)
+		{
+			final int n = this.getDimension();
+			boolean valid = true;
+			for (int i = from; i < to && valid; i++)
+				valid = (xs[i].length == n);
+
+			if (valid)
+				for (int i = from; i < to; i++)
+					out[i] = value(xs[i]);
+			else
+				for (int i = from; i < to; i++)
+					out[i] = f(xs[i]);
+		}
+	}
+
+	/**
+	 * Base class of the separable functions f(x) = total(term(x[0], 0) + ... + term(x[n-1], n-1)), evaluated incrementally
+	 * when a single design variable changes (see IncrementalProblem).
+	 */
+	public static abstract class SeparableFunction extends BaseFunction implements IncrementalProblem
+	{
+		public SeparableFunction(int dimension, double[] bounds) { super(dimension, bounds); }
+		
+		public SeparableFunction(int dimension, double[][] bounds) { super(dimension, bounds); }
+		
+		/**
+		 * Term of the i-th design variable.
+		 */
+		protected abstract double term(double xi, int i);
+		
+		/**
+		 * Function value from the sum of the terms.
+		 */
+		protected abstract double total(double sum, int n);
+		
+		public Delta delta(double[] x) { return new SeparableDelta(this, x); }
+	}
+	
+	/**
+	 * Incremental evaluator of a separable function: the terms of the current solution and their sum.
+	 * The sum is recomputed from the terms every n accepted moves, so that rounding errors do not accumulate.
+	 */
+	private static class SeparableDelta implements IncrementalProblem.Delta
+	{
+		private final SeparableFunction function;
+		private final double[] terms;
+		private double sum;
+		private int moves = 0;
+		
+		SeparableDelta(SeparableFunction function, double[] x)
+		{
+			this.function = function;
+			terms = new double[x.length];
+			for (int i = 0; i < x.length; i++)
+				terms[i] = function.term(x[i], i);
+			resync();
+		}
+		
+		public double f() { return function.total(sum, terms.length); }
+		
+		public double fDelta(double[] x, int i, double newValue)
+		{
+			return function.total(sum - terms[i] + function.term(newValue, i), terms.length);
+		}
+		
+		public void accept(double[] x, int i, double newValue)
+		{
+			double term = function.term(newValue, i);
+			sum += term - terms[i];
+			terms[i] = term;
+			x[i] = newValue;
+			if (++moves == terms.length)
+				resync();
+		}
+		
+		private void resync()
+		{
+			sum = 0;
+			for (int i = 0; i < terms.length; i++)
+				sum += terms[i];
+			moves = 0;
+		}
+	}
+
 	/**
 	 * Ackley function. 
 	 * 
@@ -22,7 +145,7 @@ public class BaseFunctions
 	 * </br>
 	 * <a href="http://tracer.lcc.uma.es/problems/ackley/ackley.html" > Ref 4 </a></br>
 	*/
-	public static class Ackley extends Problem
+	public static class Ackley extends BaseFunction implements IncrementalProblem
 	{
 		final double a = 20;
 		final double b = 0.2;
@@ -46,31 +169,86 @@ public class BaseFunctions
 		* 
 		* @param x solution to be evaluated
 		*/
-		public double f(double[] x)
+		protected double value(double[] x)
 		{	
 			final int n = x.length;
-			double y = 0;
-			
-			if (this.getDimension() != n)
+			double square_sum = 0;		
+			double cos_sum = 0;
+
+			if (Kernels.VECTOR != null)
 			{
-				y = Double.NaN;
-				System.out.println("WARNING: the design variable does not match the dimensionality of the problem!");
+				square_sum = Kernels.VECTOR.sumOfSquares(x);
+				cos_sum = Kernels.VECTOR.sumOfCos(x, c);
 			}
 			else
-			{
-				double square_sum = 0;		
-				double cos_sum = 0;
-
 				for (int i = 0; i < n; i++)	
 				{
 					square_sum += Math.pow(x[i],2);
 					cos_sum += Math.cos(c*x[i]);
 				}
 
-				y = -a * Math.exp(-b * Math.sqrt(square_sum/n)) - Math.exp(cos_sum/n) + a + Math.exp(1);
-			}
-			
-			return y;
+			return -a * Math.exp(-b * Math.sqrt(square_sum/n)) - Math.exp(cos_sum/n) + a + Math.exp(1);
+		}
+		
+		/**
+		* Incremental evaluation: the squares and the cosines of the design variables are kept with their sums.
+		*/
+		public Delta delta(final double[] x)
+		{
+			return new Delta()
+			{
+				final int n = x.length;
+				final double[] squares = new double[n];
+				final double[] cosines = new double[n];
+				double square_sum, cos_sum;
+				int moves = 0;
+				
+				{
+					for (int i = 0; i < n; i++)
+					{
+						squares[i] = Math.pow(x[i],2);
+						cosines[i] = Math.cos(c*x[i]);
+					}
+					resync();
+				}
+				
+				public double f() { return value(square_sum, cos_sum); }
+				
+				public double fDelta(double[] x, int i, double newValue)
+				{
+					return value(square_sum - squares[i] + Math.pow(newValue,2), cos_sum - cosines[i] + Math.cos(c*newValue));
+				}
+				
+				public void accept(double[] x, int i, double newValue)
+				{
+					double square = Math.pow(newValue,2);
+					double cos = Math.cos(c*newValue);
+					square_sum += square - squares[i];
+					cos_sum += cos - cosines[i];
+					squares[i] = square;
+					cosines[i] = cos;
+					x[i] = newValue;
+					if (++moves == n)
+						resync();
+				}
+				
+				private void resync()
+				{
+					square_sum = 0;
+					cos_sum = 0;
+					for (int i = 0; i < n; i++)
+					{
+						square_sum += squares[i];
+						cos_sum += cosines[i];
+					}
+					moves = 0;
+				}
+				
+				private double value(double square_sum, double cos_sum)
+				{
+					return -a * Math.exp(-b * Math.sqrt(square_sum/n)) - Math.exp(cos_sum/n) + a + Math.exp(1);
+				}
+			};
 		}
 	}
 
@@ -81,7 +259,7 @@ public class BaseFunctions
 	 * References:
 	 * <a href="http://clerc.maurice.free.fr/pso/Alpine/Alpine_Function.htm" > Ref 1 </a>
 	*/
-	public static class Alpine extends Problem
+	public static class Alpine extends SeparableFunction
 	{		
 		/**
 		* Constructor for the Alpine function defined within the specified upper and lower bounds.
@@ -100,24 +278,23 @@ public class BaseFunctions
 		* 
 		* @param x solution to be evaluated
 		*/
-		public double f(double[] x)
+		protected double value(double[] x)
 		{	
 			final int n = x.length;
 			double y = 0;
 			
-			if (this.getDimension() != n)
-			{
-				y = Double.NaN;
-				System.out.println("WARNING: the design variable does not match the dimensionality of the problem!");
-			}
-			else
-			{
-				for (int i = 0; i < n; i++)
-					y += Math.abs(x[i]*Math.sin(x[i]) + 0.1*x[i]);
-			}
+			if (Kernels.VECTOR != null)
+				return Kernels.VECTOR.alpine(x);
+			
+			for (int i = 0; i < n; i++)
+				y += Math.abs(x[i]*Math.sin(x[i]) + 0.1*x[i]);
 			
 			return y;
 		}
+		
+		protected double term(double xi, int i) { return Math.abs(xi*Math.sin(xi) + 0.1*xi); } // |x sin(x) + 0.1 x|
+		
+		protected double total(double sum, int n) { return sum; }
 	}
 	
 	/**
@@ -128,7 +305,7 @@ public class BaseFunctions
 	 * <a href="http://www-optima.amp.i.kyoto-u.ac.jp/member/student/hedar/Hedar_files/TestGO_files/Page2537.htm" > Ref 2 </a>
 	 * <a href="http://mathworld.wolfram.com/RosenbrockFunction.html" > Ref 3 </a>
 	*/
-	public static class Rosenbrock extends Problem
+	public static class Rosenbrock extends BaseFunction implements IncrementalProblem
 	{
 		/**
 		* Constructor for  the  sphere function defined within the specified upper and lower bounds.
@@ -147,24 +324,80 @@ public class BaseFunctions
 		* 
 		* @param x solution to be evaluated
 		*/
-		public double f(double[] x)
+		protected double value(double[] x)
 		{
 			final int n = x.length;
 			double y = 0;
 			
-			if (this.getDimension() != n)
-			{
-				y = Double.NaN;
-				System.out.println("WARNING: the design variable does not match the dimensionality of the problem!");
-			}
-			else
-			{
-				for (int i = 0; i < n-1; i++)
+			for (int i = 0; i < n-1; i++)
 				y += Math.pow((1-x[i]),2) + 100*Math.pow((x[i+1]-Math.pow(x[i],2)),2);
-			}
 			
 			return y;
 		 }
+		
+		/**
+		* Incremental evaluation: the i-th design variable appears in the terms i-1 and i only (terms of neighbouring variables).
+		*/
+		public Delta delta(final double[] x)
+		{
+			return new Delta()
+			{
+				final int n = x.length;
+				final double[] terms = new double[Math.max(n-1, 0)];
+				double y;
+				int moves = 0;
+				
+				{
+					for (int i = 0; i < n-1; i++)
+						terms[i] = term(x[i], x[i+1]);
+					resync();
+				}
+				
+				public double f() { return y; }
+				
+				public double fDelta(double[] x, int i, double newValue)
+				{
+					double z = y;
+					if (i > 0)
+						z += term(x[i-1], newValue) - terms[i-1];
+					if (i < n-1)
+						z += term(newValue, x[i+1]) - terms[i];
+					return z;
+				}
+				
+				public void accept(double[] x, int i, double newValue)
+				{
+					if (i > 0)
+					{
+						double t = term(x[i-1], newValue);
+						y += t - terms[i-1];
+						terms[i-1] = t;
+					}
+					if (i < n-1)
+					{
+						double t = term(newValue, x[i+1]);
+						y += t - terms[i];
+						terms[i] = t;
+					}
+					x[i] = newValue;
+					if (++moves == n)
+						resync();
+				}
+				
+				private void resync()
+				{
+					y = 0;
+					for (int i = 0; i < n-1; i++)
+						y += terms[i];
+					moves = 0;
+				}
+				
+				private double term(double xi, double xNext)
+				{
+					return Math.pow((1-xi),2) + 100*Math.pow((xNext-Math.pow(xi,2)),2);
+				}
+			};
+		}
 	}
 	
 	/**
@@ -174,7 +407,7 @@ public class BaseFunctions
 	 * <a href="http://www-optima.amp.i.kyoto-u.ac.jp/member/student/hedar/Hedar_files/TestGO_files/Page1113.htm" > Ref 1 </a>
 	 * <a href="http://www.it.lut.fi/ip/evo/functions/node2.html" > Ref 2 </a>
 	*/
-	public static class Sphere extends Problem
+	public static class Sphere extends SeparableFunction
 	{
 		/**
 		* Constructor for the Sphere function defined within the specified upper and lower bounds.
@@ -193,24 +426,23 @@ public class BaseFunctions
 		* 
 		* @param x solution to be evaluated
 		*/
-		public double f(double[] x)
+		protected double value(double[] x)
 		{
 			final int n = x.length; // Store the length (problem dimensionality) of the solution passed
 			double y = 0; // Initialise the result (fitness value) variable
 		
-			if (this.getDimension() != n) // If the dimensionality of the problem is not equal to the number of design variables featured in the solution passed, do the following
-			{
-				y = Double.NaN; // Set the result (fitness value) variable to null (no value)
-				System.out.println("WARNING: the design variable does not match the dimensionality of the problem!"); // Output that the number of design variables does not match the dimensionality of the problem
-			}
-			else // Else if the dimensionality of the problem is equal to the number of design variables featured in the solution passed, do the following
-			{
-				for (int i = 0; i < n; i++) // For the dimensionality of the problem, do the following
-					y += Math.pow(x[i], 2); // Add and equal (sum) the squared value of each variable iterated, for the dimensionality of the problem
-			}
+			if (Kernels.VECTOR != null) // If the vectorised kernels are enabled, do the following
+				return Kernels.VECTOR.sumOfSquares(x); // Return the sum of squares computed by SIMD instructions
+			
+			for (int i = 0; i < n; i++) // For the dimensionality of the problem, do the following
+				y += Math.pow(x[i], 2); // Add and equal (sum) the squared value of each variable iterated, for the dimensionality of the problem
 			
 			return y; // Return the result (fitness value)
 		}
+		
+		protected double term(double xi, int i) { return Math.pow(xi, 2); } // Squared value of a variable
+		
+		protected double total(double sum, int n) { return sum; } // The result (fitness value) is the sum of the terms
 	}
 	
 	/**
@@ -220,7 +452,7 @@ public class BaseFunctions
 	 * <a href="http://www-optima.amp.i.kyoto-u.ac.jp/member/student/hedar/Hedar_files/TestGO_files/Page2530.htm" > Ref 1 </a>
 	 * <a href="http://www.sfu.ca/~ssurjano/schwef.html" > Ref 2 </a>
 	 */
-	public static class Schwefel extends Problem 
+	public static class Schwefel extends SeparableFunction
 	{
 		/**
 		* Constructor for the Schwefel function with suggested bounds.
@@ -239,27 +471,26 @@ public class BaseFunctions
 		* 
 		* @param x solution to be evaluated
 		*/
-		public double f(double[] x)
+		protected double value(double[] x)
 		{
 			final int n = x.length; // Store the length (problem dimensionality) of the solution passed
 			double sum = 0; // Initialise the sum variable
 			double y = 0; // Initialise the result (fitness value) variable
 			
-			if (this.getDimension() != n) // If the dimensionality of the problem is not equal to the number of design variables featured in the solution passed, do the following
-			{
-				y = Double.NaN; // Set the result (fitness value) variable to null (no value)
-				System.out.println("WARNING: the design variable does not match the dimensionality of the problem!"); // Output that the number of design variables does not match the dimensionality of the problem
-			}
-			else // Else if the dimensionality of the problem is equal to the number of design variables featured in the solution passed, do the following
-			{
+			if (Kernels.VECTOR != null) // If the vectorised kernels are enabled, do the following
+				sum = Kernels.VECTOR.schwefel(x); // Compute the sum by SIMD instructions
+			else // Else if the vectorised kernels are not enabled, do the following
 				for (int i = 0; i < n; i++) // For the dimensionality of the problem, do the following
 					sum += x[i] * Math.sin(Math.sqrt(Math.abs(x[i]))); // Add and equal (sum) the value of each variable iterated, multiplied by the sine of the root of its absolute value, for the dimensionality of the problem
-				
-				y = 418.9829 * n - sum; // Set the result (fitness value) to the difference between the summed value and the product of a constant and the problem dimensionality (each variable = 418.929 - sum)
-			}
+			
+			y = 418.9829 * n - sum; // Set the result (fitness value) to the difference between the summed value and the product of a constant and the problem dimensionality (each variable = 418.929 - sum)
 			
 			return y; // Return the result (fitness value)
 		}
+		
+		protected double term(double xi, int i) { return xi * Math.sin(Math.sqrt(Math.abs(xi))); } // Variable multiplied by the sine of the root of its absolute value
+		
+		protected double total(double sum, int n) { return 418.9829 * n - sum; } // Difference between the product of a constant and the problem dimensionality, and the sum of the terms
 	}
 	
 	/**
@@ -271,7 +502,7 @@ public class BaseFunctions
 	 * <a href="http://www.mathworks.com/help/toolbox/gads/f14773.html" > Ref 3 </a>
 	 * <a href="https://www.sfu.ca/~ssurjano/rastr.html" > Ref 4 </a>
 	 */
-	public static class Rastrigin extends Problem
+	public static class Rastrigin extends SeparableFunction
 	{
 		/**
 		* Constructor for the Rastrigin function with suggested bounds.
@@ -290,27 +521,26 @@ public class BaseFunctions
 		* 
 		* @param x solution to be evaluated
 		*/
-		public double f(double[] x)
+		protected double value(double[] x)
 		{
 			final int n = x.length; // Store the length (problem dimensionality) of the solution passed
 			double sum = 0; // Initialise the sum variable
 			double y = 0; // Initialise the result (fitness value) variable
 			
-			if (this.getDimension() != n) // If the dimensionality of the problem is not equal to the number of design variables featured in the solution passed, do the following
-			{
-				y = Double.NaN; // Set the result (fitness value) variable to null (no value)
-				System.out.println("WARNING: the design variable does not match the dimensionality of the problem!"); // Output that the number of design variables does not match the dimensionality of the problem
-			}
-			else // Else if the dimensionality of the problem is equal to the number of design variables featured in the solution passed, do the following
-			{
+			if (Kernels.VECTOR != null) // If the vectorised kernels are enabled, do the following
+				sum = Kernels.VECTOR.rastrigin(x); // Compute the sum by SIMD instructions
+			else // Else if the vectorised kernels are not enabled, do the following
 				for (int i = 0; i < n; i++) // For the dimensionality of the problem, do the following
 					sum += Math.pow(x[i], 2) - 10 * Math.cos(2 * Math.PI * x[i]); // Add and equal (sum) the product of the difference between the variable iterated and a constant, with the cosine of the product of the variable iterated and PI, doubled
-				
-				y = 10 * n + sum; // Set the result (fitness value) to the sum of the summed value and the product of a constant and the problem dimensionality (each variable = 10 + sum)
-			}
+			
+			y = 10 * n + sum; // Set the result (fitness value) to the sum of the summed value and the product of a constant and the problem dimensionality (each variable = 10 + sum)
 			
 			return y; // Return the result (fitness value)
 		}
+		
+		protected double term(double xi, int i) { return Math.pow(xi, 2) - 10 * Math.cos(2 * Math.PI * xi); } // Squared variable minus ten times the cosine of the variable multiplied by two PI
+		
+		protected double total(double sum, int n) { return 10 * n + sum; } // Sum of the terms plus the product of a constant and the problem dimensionality
 	}
 	
 	/**
@@ -322,7 +552,7 @@ public class BaseFunctions
 	 * <a href="https://subscription.packtpub.com/book/big_data_and_business_intelligence/9781789612011/app02/app02lvl1sec117/the-michalewicz-function" > Ref 3 </a>
 	 * <a href="http://www-optima.amp.i.kyoto-u.ac.jp/member/student/hedar/Hedar_files/TestGO_files/Page2376.htm" > Ref 4 </a>
 	*/	
-	public static class Michalewicz extends Problem
+	public static class Michalewicz extends SeparableFunction
 	{
 		/**
 		* Constructor for the Michalewicz function with suggested bounds.
@@ -341,28 +571,27 @@ public class BaseFunctions
 		* 
 		* @param x solution to be evaluated
 		*/
-		public double f(double[] x)
+		protected double value(double[] x)
 		{
 			final int n = x.length; // Store the length (problem dimensionality) of the solution passed
 			int m = 10; // Store the steepness of the valleys and ridges (local minima) of the functions hyper-cube (recommended value)
 			double sum = 0; // Initialise the sum variable
 			double y = 0; // Initialise the result (fitness value) variable
 			
-			if (this.getDimension() != n) // If the dimensionality of the problem is not equal to the number of design variables featured in the solution passed, do the following
-			{
-				y = Double.NaN; // Set the result (fitness value) variable to null (no value)
-				System.out.println("WARNING: the design variable does not match the dimensionality of the problem!"); // Output that the number of design variables does not match the dimensionality of the problem
-			}
-			else // Else if the dimensionality of the problem is equal to the number of design variables featured in the solution passed, do the following
-			{
+			if (Kernels.VECTOR != null) // If the vectorised kernels are enabled, do the following
+				sum = Kernels.VECTOR.michalewicz(x, m); // Compute the sum by SIMD instructions
+			else // Else if the vectorised kernels are not enabled, do the following
 				for (int i = 0; i < n; i++) // For the dimensionality of the problem, do the following
 					sum += Math.sin(x[i]) * Math.pow(Math.sin((i + 1) * Math.pow(x[i], 2) / Math.PI), 2 * m); // Add and equal (sum) the product of the sine of the variable iterated and the sine of the variable iterated multiplied by the iteration count, divided by PI, which the sum is then raised to the power of two multiplied by the steepness value configured for the functions hyper-cube valleys and ridges
-				
-				y = -sum; // Negate the summed total (negative result or fitness value)
-			}
+			
+			y = -sum; // Negate the summed total (negative result or fitness value)
 			
 			return y; // Return the result (fitness value)
 		}
+		
+		protected double term(double xi, int i) { return Math.sin(xi) * Math.pow(Math.sin((i + 1) * Math.pow(xi, 2) / Math.PI), 2 * 10); } // Term of a variable (steepness of the valleys and ridges m = 10)
+		
+		protected double total(double sum, int n) { return -sum; } // Negated sum of the terms
 	}
 	
 }
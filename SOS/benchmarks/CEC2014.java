@@ -2,23 +2,38 @@ package benchmarks;
 
 
 import interfaces.Problem;
-import benchmarks.problemsImplementation.CEC2014TestFunc;
+import benchmarks.problemsImplementation.CEC2014Evaluator;
 
 
 public class CEC2014 extends Problem
 {
-	private CEC2014TestFunc testFunc;
+	private CEC2014Evaluator testFunc;
 	
 	public CEC2014(int dimension, int problemNum) throws Exception
+	{
+		 this(dimension, problemNum, false, false);
+	}
+	
+	/**
+	 * @param fused true to fuse shift, scaling and rotation (see CEC2014Evaluator), recorded in the FID (e.g. ".f5.fused").
+	 * @param recurrence true to compute the Weierstrass function by the triple-angle recurrence (see CEC2014Evaluator), recorded in the FID (e.g. ".f6.recurrence").
+	 */
+	public CEC2014(int dimension, int problemNum, boolean fused, boolean recurrence) throws Exception
 	{
 		 super(dimension, new double[] {-100, 100});  
-		 setFID(".f"+problemNum);
+		 setFID(".f"+problemNum+(fused ? ".fused" : "")+(recurrence ? ".recurrence" : ""));
 		 
-		 testFunc = new CEC2014TestFunc(dimension,problemNum);
+		 testFunc = new CEC2014Evaluator(dimension,problemNum,fused,recurrence);
 	}
 	
 	public double f(double[] x)
 	{
 		return testFunc.f(x);
 	}
+	
+	@Override
+	public void evaluateBatch(double[][] xs, int from, int to, double[] out)
+	{
+		testFunc.f(xs, from, to, out);
+	}
 }
\ No newline at end of file
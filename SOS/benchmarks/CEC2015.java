@@ -13,16 +13,16 @@
 package benchmarks;
 
 import interfaces.Problem;
-import benchmarks.problemsImplementation.CEC2015TestFunc;
+import benchmarks.problemsImplementation.CEC2015Evaluator;
 /**
  * CEC15 Test Function Suite for Single Objective Optimization.
  */
 public class CEC2015 extends Problem
 { 
-	CEC2015TestFunc testFunc=null;
+	CEC2015Evaluator testFunc=null;
 	/**
 	* Constructor.
-	* Loads matrices from "./cec2015_files" folder.
+	* Loads matrices through CECData (binary cache in "./cec_cache", generated from the text files at first use).
 	* Initialises private variables (arrays) for the specified problem to be used.
 	* @param func_num index of the problem to be used (15 problems in this suite!).
 	* @param dimension dimensionality of the problem (admissible vlues are: 10,30,50 and 100).
@@ -33,10 +33,13 @@ public class CEC2015 extends Problem
 		super(dimension, new double[] {-100, 100}); 
 		setFID(".f"+func_num);
 		
-		testFunc = new CEC2015TestFunc(dimension,func_num);
+		testFunc = new CEC2015Evaluator(dimension,func_num);
 	}
 	
 	
 	public double f(double[] x){return testFunc.f(x);}
 	
+	@Override
+	public void evaluateBatch(double[][] xs, int from, int to, double[] out){testFunc.f(xs, from, to, out);}
+	
 }
@@ -0,0 +1,931 @@
+package benchmarks.problemsImplementation;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.util.Scanner;
+
+import utils.RunAndStore;
+
+/**
+ * CEC 2014 Test Function Suite for Single Objective Optimization.
+ *
+ * Same functions (and same results) of CEC2014TestFunc, but rotation matrices, shift vectors and shuffle vectors
+ * are served by CECData, i.e. they are parsed from text only once, stored in binary form and shared between instances.
+ * Composition functions address the data of each component through offsets instead of copying them at every call.
+ * Evaluations do not allocate memory: intermediate results are kept in per-thread scratch buffers (see Scratch).
+ *
+ * Optionally (see the constructor), shift, scaling and rotation are fused (see Fused): since M((x - o) rate) = (rate M) x - (rate M) o, the scaled
+ * matrices and their products with the shift vectors are computed once per problem, and all the rotated components of a function are
+ * transformed in a single sweep at the beginning of each evaluation. Results agree with CEC2014TestFunc up to rounding errors only.
+ *
+ * Optionally (see the constructor), the cosines of the Weierstrass function, cos(2 pi 3^j (z + 0.5)) for j = 0, ..., 20, are obtained from a single
+ * cosine and sine by the triple-angle recurrence (see weierstrass_func). Its error grows as 3^j, like the error of the argument of the
+ * original cosines, and is damped by the 0.5^j coefficients: results differ from CEC2014TestFunc by less than about 1e-11 per design variable.
+ */
+public class CEC2014Evaluator
+{
+	static final int CF_NUM = 10; // number of rotation matrices and shift vectors stored for composition functions
+
+	final double[] OShift;
+	final double[] M;
+	final int[] SS;
+	final int nx;
+	final int fNumber;
+	final Fused fused; // null if disabled (or nothing to rotate)
+	final boolean recurrence; // Weierstrass function by the triple-angle recurrence
+
+	/**
+	 * Buffers used by an evaluation. Instances are shared by the runs executed in parallel (see Experiment), hence every thread has its own.
+	 */
+	static final class Scratch
+	{
+		final double[] y; // shifted point, before rotation
+		final double[] z; // transformed point of a basic function
+		final double[] hz, hy, ty; // transformed, shuffled point and group of variables of a hybrid function
+		final double[] hfit; // components of a hybrid function
+		final int[] G_nx; // group sizes of a hybrid function
+		final double[] fit; // components of a composition function
+		final double[] w; // weights of a composition function
+		final double[] zs; // transformed point of each fused component (see Fused)
+
+		Scratch(int nx, int fusedRows)
+		{
+			y = new double[nx];
+			z = new double[nx];
+			hz = new double[nx];
+			hy = new double[nx];
+			ty = new double[nx];
+			hfit = new double[5];
+			G_nx = new int[5];
+			fit = new double[CF_NUM];
+			w = new double[CF_NUM];
+			zs = new double[fusedRows];
+		}
+	}
+
+	/**
+	 * Scaling of the shift and rotation of each component, as passed to sr_func by the functions (0: not rotated, hence not fused).
+	 */
+	static final double[][] SR_RATE =
+	{
+		null,
+		{1.0}, {1.0}, {1.0}, {0.02048}, {1.0}, {0.005}, {6.0}, {0}, {0.0512}, {0}, {10.0}, {0.05}, {0.05}, {0.05}, {0.05}, {1.0}, // f1-f16
+		{1.0}, {1.0}, {1.0}, {1.0}, {1.0}, {1.0}, // hf01-hf06
+		{0.02048, 0, 1.0, 1.0, 0}, // cf01
+		{0, 0.0512, 0.05}, // cf02
+		{10.0, 0.0512, 1.0}, // cf03
+		{10.0, 0.05, 1.0, 0.005, 6.0}, // cf04
+		{0.05, 0.0512, 10.0, 0.005, 1.0}, // cf05
+		{0.05, 0.05, 10.0, 1.0, 1.0}, // cf06
+		{1.0, 1.0, 1.0}, // cf07
+		{1.0, 1.0, 1.0} // cf08
+	};
+
+	/**
+	 * Fused shift, scaling and rotation of the rotated components of a function: z_c = RM_c x - RM_c o_c with RM_c = rate_c M_c.
+	 * The scaled matrices are stored one after the other, so that the components are transformed by a single sweep over RM (see multiply).
+	 */
+	static final class Fused
+	{
+		final double[] rate; // scaling of each component (0: not fused)
+		final int[] index; // position of each component among the fused ones (-1: not fused)
+		final double[] RM; // scaled rotation matrices of the fused components
+		final double[] RMo; // products of the scaled rotation matrices with the shift vectors
+
+		Fused(double[] rate, double[] M, double[] OShift, int nx, int fused)
+		{
+			this.rate = rate;
+			index = new int[rate.length];
+			RM = new double[fused * nx * nx];
+			RMo = new double[fused * nx];
+			double[] o = new double[nx];
+			int k = 0;
+			for (int c = 0; c < rate.length; c++)
+			{
+				if (rate[c] == 0)
+				{
+					index[c] = -1;
+					continue;
+				}
+				index[c] = k;
+				for (int i = 0; i < nx * nx; i++)
+					RM[k * nx * nx + i] = rate[c] * M[c * nx * nx + i];
+				System.arraycopy(OShift, c * nx, o, 0, nx);
+				// same kernel of the evaluations: z_c is exactly 0 when x = o_c
+				multiply(RM, k * nx * nx, o, RMo, k * nx, nx, nx);
+				k++;
+			}
+		}
+	}
+
+	private final ThreadLocal<Scratch> scratch;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param nx dimensionality of the problem (admissible values are: 2, 10, 20, 30, 50 and 100).
+	 * @param func_num index of the problem to be used (30 problems in this suite!).
+	 */
+	public CEC2014Evaluator(int nx, int func_num) throws Exception
+	{
+		this(nx, func_num, false, false);
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param nx dimensionality of the problem (admissible values are: 2, 10, 20, 30, 50 and 100).
+	 * @param func_num index of the problem to be used (30 problems in this suite!).
+	 * @param fusion true to fuse shift, scaling and rotation (see Fused).
+	 * @param recurrence true to compute the cosines of the Weierstrass function by the triple-angle recurrence (see weierstrass_func).
+	 */
+	public CEC2014Evaluator(int nx, int func_num, boolean fusion, boolean recurrence) throws Exception
+	{
+		this.nx = nx;
+		this.fNumber = func_num;
+		this.recurrence = recurrence;
+		warnings(nx, func_num);
+		this.M = getM(nx, func_num);
+		this.OShift = getShift(nx, func_num);
+		this.SS = ((func_num >= 17 && func_num <= 22) || func_num == 29 || func_num == 30) ? getShuffle(nx, func_num) : null;
+		this.fused = (fusion && func_num >= 1 && func_num <= 30) ? fuse(SR_RATE[func_num]) : null;
+		final int fusedRows = (fused != null) ? fused.RMo.length : 0;
+		this.scratch = ThreadLocal.withInitial(() -> new Scratch(nx, fusedRows));
+	}
+
+	private Fused fuse(double[] rate)
+	{
+		int fused = 0;
+		for (double r : rate)
+			if (r != 0)
+				fused++;
+		return (fused > 0) ? new Fused(rate, M, OShift, nx, fused) : null;
+	}
+
+	public double f(double[] x)
+	{
+		checkDimension(x);
+		return f(scratch.get(), x);
+	}
+
+	/**
+	 * Evaluate xs[from], ..., xs[to-1] (out[i] = f(xs[i])).
+	 * The dimension of the solutions is checked and the scratch buffers of the thread are fetched once, before the evaluations.
+	 */
+	public void f(double[][] xs, int from, int to, double[] out)
+	{
+		for (int i = from; i < to; i++)
+			checkDimension(xs[i]);
+		Scratch sc = scratch.get();
+		for (int i = from; i < to; i++)
+			out[i] = f(sc, xs[i]);
+	}
+
+	private void checkDimension(double[] x)
+	{
+		if (x.length != nx)
+			throw new IllegalArgumentException("Solution of dimension " + x.length + " for a problem of dimension " + nx);
+	}
+
+	private double f(Scratch sc, double[] x)
+	{
+		if (fused != null)
+		{
+			// all the fused components at once: zs = RM x - RMo
+			double[] zs = sc.zs;
+			multiply(fused.RM, 0, x, zs, 0, zs.length, nx);
+			for (int i = 0; i < zs.length; i++)
+				zs[i] -= fused.RMo[i];
+		}
+		double f = Double.NaN;
+		switch (fNumber)
+		{
+			case 1: f = ellips_func(sc, x, nx, 0, 1, 1) + 100.0; break;
+			case 2: f = bent_cigar_func(sc, x, nx, 0, 1, 1) + 200.0; break;
+			case 3: f = discus_func(sc, x, nx, 0, 1, 1) + 300.0; break;
+			case 4: f = rosenbrock_func(sc, x, nx, 0, 1, 1) + 400.0; break;
+			case 5: f = ackley_func(sc, x, nx, 0, 1, 1) + 500.0; break;
+			case 6: f = weierstrass_func(sc, x, nx, 0, 1, 1) + 600.0; break;
+			case 7: f = griewank_func(sc, x, nx, 0, 1, 1) + 700.0; break;
+			case 8: f = rastrigin_func(sc, x, nx, 0, 1, 0) + 800.0; break;
+			case 9: f = rastrigin_func(sc, x, nx, 0, 1, 1) + 900.0; break;
+			case 10: f = schwefel_func(sc, x, nx, 0, 1, 0) + 1000.0; break;
+			case 11: f = schwefel_func(sc, x, nx, 0, 1, 1) + 1100.0; break;
+			case 12: f = katsuura_func(sc, x, nx, 0, 1, 1) + 1200.0; break;
+			case 13: f = happycat_func(sc, x, nx, 0, 1, 1) + 1300.0; break;
+			case 14: f = hgbat_func(sc, x, nx, 0, 1, 1) + 1400.0; break;
+			case 15: f = grie_rosen_func(sc, x, nx, 0, 1, 1) + 1500.0; break;
+			case 16: f = escaffer6_func(sc, x, nx, 0, 1, 1) + 1600.0; break;
+			case 17: f = hf01(sc, x, 0, 1, 1) + 1700.0; break;
+			case 18: f = hf02(sc, x, 0, 1, 1) + 1800.0; break;
+			case 19: f = hf03(sc, x, 0, 1, 1) + 1900.0; break;
+			case 20: f = hf04(sc, x, 0, 1, 1) + 2000.0; break;
+			case 21: f = hf05(sc, x, 0, 1, 1) + 2100.0; break;
+			case 22: f = hf06(sc, x, 0, 1, 1) + 2200.0; break;
+			case 23: f = cf01(sc, x, 1) + 2300.0; break;
+			case 24: f = cf02(sc, x, 1) + 2400.0; break;
+			case 25: f = cf03(sc, x, 1) + 2500.0; break;
+			case 26: f = cf04(sc, x, 1) + 2600.0; break;
+			case 27: f = cf05(sc, x, 1) + 2700.0; break;
+			case 28: f = cf06(sc, x, 1) + 2800.0; break;
+			case 29: f = cf07(sc, x, 1) + 2900.0; break;
+			case 30: f = cf08(sc, x, 1) + 3000.0; break;
+			default:
+				System.out.println("\nError: There are only 30 test functions in this test suite!");
+				f = 0.0;
+		}
+		return f;
+	}
+
+	public int getDimension() { return nx; }
+
+	public int getFunctionNumber() { return fNumber; }
+
+	/*
+	 * DATA
+	 */
+
+	private static String file(String name)
+	{
+		return "files_cec2014" + RunAndStore.slash() + name;
+	}
+
+	private double[] getM(final int nx, final int func_num) throws Exception
+	{
+		final int n = (func_num < 23) ? nx * nx : CF_NUM * nx * nx;
+		return CECData.getDoubles(CECData.name(CECData.CEC2014, "M", func_num, nx), new CECData.TextSource<double[]>()
+		{
+			public double[] read() throws Exception
+			{
+				double[] M = new double[n];
+				Scanner input = new Scanner(CEC2014Evaluator.class.getResourceAsStream(file("M_" + func_num + "_D" + nx + ".txt")));
+				for (int i = 0; i < n; i++)
+					M[i] = Double.parseDouble(input.next());
+				input.close();
+				return M;
+			}
+		});
+	}
+
+	private double[] getShift(final int nx, final int func_num) throws Exception
+	{
+		return CECData.getDoubles(CECData.name(CECData.CEC2014, "shift_data", func_num, nx), new CECData.TextSource<double[]>()
+		{
+			public double[] read() throws Exception
+			{
+				double[] OShift;
+				if (func_num < 23)
+				{
+					OShift = new double[nx];
+					Scanner input = new Scanner(CEC2014Evaluator.class.getResourceAsStream(file("shift_data_" + func_num + ".txt")));
+					for (int i = 0; i < nx; i++)
+						OShift[i] = Double.parseDouble(input.next());
+					input.close();
+				}
+				else
+				{
+					// one shift vector per line, the first nx values of each line are used
+					OShift = new double[nx * CF_NUM];
+					BufferedReader br = new BufferedReader(new InputStreamReader(CEC2014Evaluator.class.getResourceAsStream(file("shift_data_" + func_num + ".txt"))));
+					for (int i = 0; i < CF_NUM; i++)
+					{
+						String[] array = br.readLine().split("\\s+");
+						for (int j = 0; j < nx; j++)
+							OShift[i * nx + j] = Double.parseDouble(array[j + 1]);
+					}
+					br.close();
+				}
+				return OShift;
+			}
+		});
+	}
+
+	private int[] getShuffle(final int nx, final int func_num) throws Exception
+	{
+		final int n = (func_num >= 17 && func_num <= 22) ? nx : CF_NUM * nx;
+		return CECData.getInts(CECData.name(CECData.CEC2014, "shuffle_data", func_num, nx), new CECData.TextSource<int[]>()
+		{
+			public int[] read() throws Exception
+			{
+				int[] SS = new int[n];
+				Scanner input = new Scanner(CEC2014Evaluator.class.getResourceAsStream(file("shuffle_data_" + func_num + "_D" + nx + ".txt")));
+				for (int i = 0; i < n; i++)
+					SS[i] = input.nextInt();
+				input.close();
+				return SS;
+			}
+		});
+	}
+
+	/*
+	 * TRANSFORMATIONS
+	 */
+
+	/**
+	 * Shift and rotate (same operations of ProblemsTransformations.sr_func) using the c-th shift vector and rotation matrix.
+	 */
+	void sr_func(Scratch sc, double[] x, double[] sr_x, int nx, int c, double sh_rate, int s_flag, int r_flag)
+	{
+		if (fused != null && s_flag == 1 && r_flag == 1 && c < fused.rate.length && fused.rate[c] == sh_rate)
+			System.arraycopy(sc.zs, fused.index[c] * nx, sr_x, 0, nx); // transformed by f
+		else if (Kernels.VECTOR != null && s_flag == 1)
+		{
+			if (r_flag == 1)
+			{
+				double[] y = sc.y;
+				Kernels.VECTOR.shift(x, OShift, c * nx, sh_rate, y, nx);
+				Kernels.VECTOR.rotate(M, c * nx * nx, y, sr_x, nx);
+			}
+			else
+				Kernels.VECTOR.shift(x, OShift, c * nx, sh_rate, sr_x, nx);
+		}
+		else if (r_flag == 1)
+		{
+			double[] y = sc.y;
+			if (s_flag == 1)
+				for (int i = 0; i < nx; i++)
+					y[i] = (x[i] - OShift[c * nx + i]) * sh_rate;
+			else
+				for (int i = 0; i < nx; i++)
+					y[i] = x[i] * sh_rate;
+
+			int m = c * nx * nx;
+			for (int i = 0; i < nx; i++)
+			{
+				double sum = 0.0;
+				for (int j = 0; j < nx; j++)
+					sum += y[j] * M[m + i * nx + j];
+				sr_x[i] = sum;
+			}
+		}
+		else if (s_flag == 1)
+			for (int i = 0; i < nx; i++)
+				sr_x[i] = (x[i] - OShift[c * nx + i]) * sh_rate;
+		else
+			for (int i = 0; i < nx; i++)
+				sr_x[i] = x[i] * sh_rate;
+	}
+
+	/**
+	 * out[outOffset + i] = sum_j M[mOffset + i*n + j] * y[j], for i = 0, ..., rows-1 (rows x n row-major matrix).
+	 * Rows are processed four at a time, so that every y[j] is loaded once per four rows; each sum is still accumulated in the order of j.
+	 */
+	static void multiply(double[] M, int mOffset, double[] y, double[] out, int outOffset, int rows, int n)
+	{
+		if (Kernels.VECTOR != null)
+		{
+			Kernels.VECTOR.multiply(M, mOffset, y, out, outOffset, rows, n);
+			return;
+		}
+		int i = 0;
+		for (; i + 4 <= rows; i += 4)
+		{
+			int r0 = mOffset + i * n;
+			int r1 = r0 + n;
+			int r2 = r1 + n;
+			int r3 = r2 + n;
+			double s0 = 0.0, s1 = 0.0, s2 = 0.0, s3 = 0.0;
+			for (int j = 0; j < n; j++)
+			{
+				double yj = y[j];
+				s0 += yj * M[r0 + j];
+				s1 += yj * M[r1 + j];
+				s2 += yj * M[r2 + j];
+				s3 += yj * M[r3 + j];
+			}
+			out[outOffset + i] = s0;
+			out[outOffset + i + 1] = s1;
+			out[outOffset + i + 2] = s2;
+			out[outOffset + i + 3] = s3;
+		}
+		for (; i < rows; i++)
+		{
+			int row = mOffset + i * n;
+			double sum = 0.0;
+			for (int j = 0; j < n; j++)
+				sum += y[j] * M[row + j];
+			out[outOffset + i] = sum;
+		}
+	}
+
+	/*
+	 * BASIC FUNCTIONS
+	 * (x, nx) point to be evaluated and its dimension, c index of the shift vector / rotation matrix in use
+	 */
+
+	double ellips_func(Scratch sc, double[] x, int nx, int c, int s_flag, int r_flag)
+	{
+		double f = 0.0;
+		double[] z = sc.z;
+		sr_func(sc, x, z, nx, c, 1.0, s_flag, r_flag);
+		for (int i = 0; i < nx; i++)
+			f += Math.pow(10.0, 6.0 * i / (nx - 1)) * z[i] * z[i];
+		return f;
+	}
+
+	double bent_cigar_func(Scratch sc, double[] x, int nx, int c, int s_flag, int r_flag)
+	{
+		double[] z = sc.z;
+		sr_func(sc, x, z, nx, c, 1.0, s_flag, r_flag);
+		double f = z[0] * z[0];
+		for (int i = 1; i < nx; i++)
+			f += Math.pow(10.0, 6.0) * z[i] * z[i];
+		return f;
+	}
+
+	double discus_func(Scratch sc, double[] x, int nx, int c, int s_flag, int r_flag)
+	{
+		double[] z = sc.z;
+		sr_func(sc, x, z, nx, c, 1.0, s_flag, r_flag);
+		double f = Math.pow(10.0, 6.0) * z[0] * z[0];
+		for (int i = 1; i < nx; i++)
+			f += z[i] * z[i];
+		return f;
+	}
+
+	double rosenbrock_func(Scratch sc, double[] x, int nx, int c, int s_flag, int r_flag)
+	{
+		double f = 0.0;
+		double[] z = sc.z;
+		sr_func(sc, x, z, nx, c, 0.02048, s_flag, r_flag);
+		z[0] += 1.0; // shift to origin
+		for (int i = 0; i < nx - 1; i++)
+		{
+			z[i + 1] += 1.0; // shift to origin
+			double tmp1 = z[i] * z[i] - z[i + 1];
+			double tmp2 = z[i] - 1.0;
+			f += 100.0 * tmp1 * tmp1 + tmp2 * tmp2;
+		}
+		return f;
+	}
+
+	double ackley_func(Scratch sc, double[] x, int nx, int c, int s_flag, int r_flag)
+	{
+		double sum1 = 0.0;
+		double sum2 = 0.0;
+		double[] z = sc.z;
+		sr_func(sc, x, z, nx, c, 1.0, s_flag, r_flag);
+		for (int i = 0; i < nx; i++)
+		{
+			sum1 += z[i] * z[i];
+			sum2 += Math.cos(2.0 * Math.PI * z[i]);
+		}
+		sum1 = -0.2 * Math.sqrt(sum1 / nx);
+		sum2 /= nx;
+		return Math.E - 20.0 * Math.exp(sum1) - Math.exp(sum2) + 20.0;
+	}
+
+	/*
+	 * Weierstrass: a^j and 2 pi b^j (a = 0.5, b = 3, j = 0, ..., 20) and the constant term sum a^j cos(2 pi b^j 0.5) are tabulated,
+	 * with the same operations of the original code (hence with the same results).
+	 * With the recurrence, the constant term is computed in the same way, so that the optimum is still hit (almost) exactly.
+	 */
+	static final int WEIERSTRASS_K_MAX = 20;
+	static final double[] WEIERSTRASS_A = new double[WEIERSTRASS_K_MAX + 1];
+	static final double[] WEIERSTRASS_B = new double[WEIERSTRASS_K_MAX + 1];
+	static final double WEIERSTRASS_SUM2;
+	static final double WEIERSTRASS_SUM2_RECURRENCE;
+
+	static
+	{
+		double sum2 = 0.0;
+		for (int j = 0; j <= WEIERSTRASS_K_MAX; j++)
+		{
+			WEIERSTRASS_A[j] = Math.pow(0.5, j);
+			WEIERSTRASS_B[j] = 2.0 * Math.PI * Math.pow(3.0, j);
+			sum2 += WEIERSTRASS_A[j] * Math.cos(WEIERSTRASS_B[j] * 0.5);
+		}
+		WEIERSTRASS_SUM2 = sum2;
+		WEIERSTRASS_SUM2_RECURRENCE = weierstrass_recurrence(WEIERSTRASS_B[0] * 0.5);
+	}
+
+	/**
+	 * sum a^j cos(3^j t) for j = 0, ..., 20, with cos(3^j t) and sin(3^j t) obtained by the triple-angle formulas, i.e. (cos t + i sin t)^(3^j).
+	 */
+	static double weierstrass_recurrence(double t)
+	{
+		double cos = Math.cos(t);
+		double sin = Math.sin(t);
+		double sum = cos;
+		for (int j = 1; j <= WEIERSTRASS_K_MAX; j++)
+		{
+			double cos2 = cos * cos;
+			double sin2 = sin * sin;
+			cos = cos * (cos2 - 3.0 * sin2);
+			sin = sin * (3.0 * cos2 - sin2);
+			sum += WEIERSTRASS_A[j] * cos;
+		}
+		return sum;
+	}
+
+	double weierstrass_func(Scratch sc, double[] x, int nx, int c, int s_flag, int r_flag)
+	{
+		double[] z = sc.z;
+		sr_func(sc, x, z, nx, c, 0.005, s_flag, r_flag);
+		double f = 0.0;
+		for (int i = 0; i < nx; i++)
+		{
+			double sum = 0.0;
+			if (recurrence)
+				sum = weierstrass_recurrence(WEIERSTRASS_B[0] * (z[i] + 0.5));
+			else
+				for (int j = 0; j <= WEIERSTRASS_K_MAX; j++)
+					sum += WEIERSTRASS_A[j] * Math.cos(WEIERSTRASS_B[j] * (z[i] + 0.5));
+			f += sum;
+		}
+		f -= nx * (recurrence ? WEIERSTRASS_SUM2_RECURRENCE : WEIERSTRASS_SUM2);
+		return f;
+	}
+
+	double griewank_func(Scratch sc, double[] x, int nx, int c, int s_flag, int r_flag)
+	{
+		double[] z = sc.z;
+		sr_func(sc, x, z, nx, c, 6.0, s_flag, r_flag);
+		double s = 0.0;
+		double p = 1.0;
+		for (int i = 0; i < nx; i++)
+		{
+			s += z[i] * z[i];
+			p *= Math.cos(z[i] / Math.sqrt(1.0 + i));
+		}
+		return 1.0 + s / 4000.0 - p;
+	}
+
+	double rastrigin_func(Scratch sc, double[] x, int nx, int c, int s_flag, int r_flag)
+	{
+		double f = 0.0;
+		double[] z = sc.z;
+		sr_func(sc, x, z, nx, c, 0.0512, s_flag, r_flag);
+		for (int i = 0; i < nx; i++)
+			f += z[i] * z[i] - 10.0 * Math.cos(2.0 * Math.PI * z[i]) + 10.0;
+		return f;
+	}
+
+	double schwefel_func(Scratch sc, double[] x, int nx, int c, int s_flag, int r_flag)
+	{
+		double[] z = sc.z;
+		sr_func(sc, x, z, nx, c, 10.0, s_flag, r_flag);
+		double f = 0.0;
+		for (int i = 0; i < nx; i++)
+		{
+			z[i] += 4.209687462275036e+002;
+			if (z[i] > 500)
+			{
+				f -= (500.0 - z[i] % 500) * Math.sin(Math.pow(500.0 - z[i] % 500, 0.5));
+				double tmp = (z[i] - 500.0) / 100;
+				f += tmp * tmp / nx;
+			}
+			else if (z[i] < -500)
+			{
+				f -= (-500.0 + Math.abs(z[i]) % 500) * Math.sin(Math.pow(500.0 - Math.abs(z[i]) % 500, 0.5));
+				double tmp = (z[i] + 500.0) / 100;
+				f += tmp * tmp / nx;
+			}
+			else
+				f -= z[i] * Math.sin(Math.pow(Math.abs(z[i]), 0.5));
+		}
+		return 4.189828872724338e+002 * nx + f;
+	}
+
+	/*
+	 * Katsuura: 2^j and 2^-j (j = 1, ..., 32), both exact.
+	 */
+	static final double[] KATSUURA_POW2 = new double[33];
+	static final double[] KATSUURA_INV_POW2 = new double[33];
+
+	static
+	{
+		for (int j = 0; j <= 32; j++)
+		{
+			KATSUURA_POW2[j] = Math.pow(2.0, j);
+			KATSUURA_INV_POW2[j] = 1.0 / KATSUURA_POW2[j];
+		}
+	}
+
+	double katsuura_func(Scratch sc, double[] x, int nx, int c, int s_flag, int r_flag)
+	{
+		double[] z = sc.z;
+		double tmp3 = Math.pow(1.0 * nx, 1.2);
+		sr_func(sc, x, z, nx, c, 0.05, s_flag, r_flag);
+		double f = 1.0;
+		for (int i = 0; i < nx; i++)
+		{
+			double temp = 0.0;
+			for (int j = 1; j <= 32; j++)
+			{
+				double tmp2 = KATSUURA_POW2[j] * z[i];
+				temp += Math.abs(tmp2 - Math.floor(tmp2 + 0.5)) * KATSUURA_INV_POW2[j]; // exact: same result of the division by 2^j
+			}
+			f *= Math.pow(1.0 + (i + 1) * temp, 10.0 / tmp3);
+		}
+		double tmp1 = 10.0 / nx / nx;
+		return f * tmp1 - tmp1;
+	}
+
+	double happycat_func(Scratch sc, double[] x, int nx, int c, int s_flag, int r_flag)
+	{
+		double[] z = sc.z;
+		double alpha = 1.0 / 8.0;
+		sr_func(sc, x, z, nx, c, 0.05, s_flag, r_flag);
+		double r2 = 0.0;
+		double sum_z = 0.0;
+		for (int i = 0; i < nx; i++)
+		{
+			z[i] = z[i] - 1.0; // shift to origin
+			r2 += z[i] * z[i];
+			sum_z += z[i];
+		}
+		return Math.pow(Math.abs(r2 - nx), 2 * alpha) + (0.5 * r2 + sum_z) / nx + 0.5;
+	}
+
+	double hgbat_func(Scratch sc, double[] x, int nx, int c, int s_flag, int r_flag)
+	{
+		double[] z = sc.z;
+		double alpha = 1.0 / 4.0;
+		sr_func(sc, x, z, nx, c, 0.05, s_flag, r_flag);
+		double r2 = 0.0;
+		double sum_z = 0.0;
+		for (int i = 0; i < nx; i++)
+		{
+			z[i] = z[i] - 1.0; // shift to origin
+			r2 += z[i] * z[i];
+			sum_z += z[i];
+		}
+		return Math.pow(Math.abs(Math.pow(r2, 2.0) - Math.pow(sum_z, 2.0)), 2 * alpha) + (0.5 * r2 + sum_z) / nx + 0.5;
+	}
+
+	double grie_rosen_func(Scratch sc, double[] x, int nx, int c, int s_flag, int r_flag)
+	{
+		double[] z = sc.z;
+		sr_func(sc, x, z, nx, c, 0.05, s_flag, r_flag);
+		double f = 0.0;
+		double tmp1, tmp2, temp;
+		z[0] += 1.0; // shift to origin
+		for (int i = 0; i < nx - 1; i++)
+		{
+			z[i + 1] += 1.0; // shift to origin
+			tmp1 = z[i] * z[i] - z[i + 1];
+			tmp2 = z[i] - 1.0;
+			temp = 100.0 * tmp1 * tmp1 + tmp2 * tmp2;
+			f += (temp * temp) / 4000.0 - Math.cos(temp) + 1.0;
+		}
+		tmp1 = z[nx - 1] * z[nx - 1] - z[0];
+		tmp2 = z[nx - 1] - 1.0;
+		temp = 100.0 * tmp1 * tmp1 + tmp2 * tmp2;
+		f += (temp * temp) / 4000.0 - Math.cos(temp) + 1.0;
+		return f;
+	}
+
+	double escaffer6_func(Scratch sc, double[] x, int nx, int c, int s_flag, int r_flag)
+	{
+		double[] z = sc.z;
+		sr_func(sc, x, z, nx, c, 1.0, s_flag, r_flag);
+		double f = 0.0;
+		double temp1, temp2;
+		for (int i = 0; i < nx - 1; i++)
+		{
+			temp1 = Math.sin(Math.sqrt(z[i] * z[i] + z[i + 1] * z[i + 1]));
+			temp1 = temp1 * temp1;
+			temp2 = 1.0 + 0.001 * (z[i] * z[i] + z[i + 1] * z[i + 1]);
+			f += 0.5 + (temp1 - 0.5) / (temp2 * temp2);
+		}
+		temp1 = Math.sin(Math.sqrt(z[nx - 1] * z[nx - 1] + z[0] * z[0]));
+		temp1 = temp1 * temp1;
+		temp2 = 1.0 + 0.001 * (z[nx - 1] * z[nx - 1] + z[0] * z[0]);
+		f += 0.5 + (temp1 - 0.5) / (temp2 * temp2);
+		return f;
+	}
+
+	/**
+	 * Evaluate one of the basic functions above (without shift and rotation, as done inside the hybrid functions).
+	 */
+	private double basic(Scratch sc, int func, double[] x, int nx)
+	{
+		switch (func)
+		{
+			case ELLIPS: return ellips_func(sc, x, nx, 0, 0, 0);
+			case BENT_CIGAR: return bent_cigar_func(sc, x, nx, 0, 0, 0);
+			case DISCUS: return discus_func(sc, x, nx, 0, 0, 0);
+			case ROSENBROCK: return rosenbrock_func(sc, x, nx, 0, 0, 0);
+			case ACKLEY: return ackley_func(sc, x, nx, 0, 0, 0);
+			case WEIERSTRASS: return weierstrass_func(sc, x, nx, 0, 0, 0);
+			case GRIEWANK: return griewank_func(sc, x, nx, 0, 0, 0);
+			case RASTRIGIN: return rastrigin_func(sc, x, nx, 0, 0, 0);
+			case SCHWEFEL: return schwefel_func(sc, x, nx, 0, 0, 0);
+			case KATSUURA: return katsuura_func(sc, x, nx, 0, 0, 0);
+			case HAPPYCAT: return happycat_func(sc, x, nx, 0, 0, 0);
+			case HGBAT: return hgbat_func(sc, x, nx, 0, 0, 0);
+			case GRIE_ROSEN: return grie_rosen_func(sc, x, nx, 0, 0, 0);
+			case ESCAFFER6: return escaffer6_func(sc, x, nx, 0, 0, 0);
+			default: return Double.NaN;
+		}
+	}
+
+	static final int ELLIPS = 0, BENT_CIGAR = 1, DISCUS = 2, ROSENBROCK = 3, ACKLEY = 4, WEIERSTRASS = 5, GRIEWANK = 6,
+			RASTRIGIN = 7, SCHWEFEL = 8, KATSUURA = 9, HAPPYCAT = 10, HGBAT = 11, GRIE_ROSEN = 12, ESCAFFER6 = 13;
+
+	/*
+	 * HYBRID FUNCTIONS
+	 */
+
+	static final double[] HF_GP_3 = {0.3, 0.3, 0.4};
+	static final double[] HF_GP_4 = {0.2, 0.2, 0.3, 0.3};
+	static final double[] HF_GP_5 = {0.1, 0.2, 0.2, 0.2, 0.3};
+
+	static final int[] HF01 = {SCHWEFEL, RASTRIGIN, ELLIPS};
+	static final int[] HF02 = {BENT_CIGAR, HGBAT, RASTRIGIN};
+	static final int[] HF03 = {GRIEWANK, WEIERSTRASS, ROSENBROCK, ESCAFFER6};
+	static final int[] HF04 = {HGBAT, DISCUS, GRIE_ROSEN, RASTRIGIN};
+	static final int[] HF05 = {ESCAFFER6, HGBAT, ROSENBROCK, SCHWEFEL, ELLIPS};
+	static final int[] HF06 = {KATSUURA, HAPPYCAT, GRIE_ROSEN, SCHWEFEL, ACKLEY};
+
+	double hf01(Scratch sc, double[] x, int c, int s_flag, int r_flag) { return hybrid(sc, x, c, s_flag, r_flag, HF_GP_3, HF01); }
+	double hf02(Scratch sc, double[] x, int c, int s_flag, int r_flag) { return hybrid(sc, x, c, s_flag, r_flag, HF_GP_3, HF02); }
+	double hf03(Scratch sc, double[] x, int c, int s_flag, int r_flag) { return hybrid(sc, x, c, s_flag, r_flag, HF_GP_4, HF03); }
+	double hf04(Scratch sc, double[] x, int c, int s_flag, int r_flag) { return hybrid(sc, x, c, s_flag, r_flag, HF_GP_4, HF04); }
+	double hf05(Scratch sc, double[] x, int c, int s_flag, int r_flag) { return hybrid(sc, x, c, s_flag, r_flag, HF_GP_5, HF05); }
+	double hf06(Scratch sc, double[] x, int c, int s_flag, int r_flag) { return hybrid(sc, x, c, s_flag, r_flag, HF_GP_5, HF06); }
+
+	/**
+	 * Hybrid function: the shifted, rotated and shuffled point is split into groups of variables (Gp fractions of nx), each one evaluated by a different basic function.
+	 *
+	 * @param c index of the shift vector, rotation matrix and shuffle vector in use.
+	 * @param Gp fraction of variables assigned to each basic function.
+	 * @param funcs basic functions.
+	 */
+	private double hybrid(Scratch sc, double[] x, int c, int s_flag, int r_flag, double[] Gp, int[] funcs)
+	{
+		int cf_num = funcs.length;
+		double[] fit = sc.hfit;
+		int[] G_nx = sc.G_nx;
+		double[] z = sc.hz;
+		double[] y = sc.hy;
+		double[] ty = sc.ty; // group of variables (first G_nx[i] positions)
+
+		int tmp = 0;
+		for (int i = 0; i < cf_num - 1; i++)
+		{
+			G_nx[i] = (int) Math.ceil(Gp[i] * nx);
+			tmp += G_nx[i];
+		}
+		G_nx[cf_num - 1] = nx - tmp;
+
+		sr_func(sc, x, z, nx, c, 1.0, s_flag, r_flag);
+		for (int i = 0; i < nx; i++)
+			y[i] = z[SS[c * nx + i] - 1];
+
+		int G = 0;
+		for (int i = 0; i < cf_num; i++)
+		{
+			for (int ii = 0; ii < G_nx[i]; ii++)
+				ty[ii] = y[G + ii];
+			fit[i] = basic(sc, funcs[i], ty, G_nx[i]);
+			G += G_nx[i];
+		}
+
+		double f = 0.0;
+		for (int i = 0; i < cf_num; i++)
+			f += fit[i];
+		return f;
+	}
+
+	/*
+	 * COMPOSITION FUNCTIONS
+	 * fit[i] = lambda[i] * g_i(x) is computed as LAMBDA_NUM[i] * g_i(x) / LAMBDA_DEN[i], as in the original implementation
+	 */
+
+	static final double[] CF_DELTA_10_20_30_40_50 = {10, 20, 30, 40, 50};
+	static final double[] CF_BIAS_5 = {0, 100, 200, 300, 400};
+	static final double[] CF_DELTA_20_20_20 = {20, 20, 20};
+	static final double[] CF_BIAS_3 = {0, 100, 200};
+	static final double[] CF_DELTA_10_30_50 = {10, 30, 50};
+	static final double[] CF_DELTA_10_10_10_10_10 = {10, 10, 10, 10, 10};
+	static final double[] CF_DELTA_10_10_10_20_20 = {10, 10, 10, 20, 20};
+
+	/**
+	 * Weighted sum of the components (same operations of ProblemsTransformations.cf_cal, with the weights in the scratch buffers).
+	 *
+	 * @param delta sigma of each component.
+	 * @param bias bias of each component (added to fit).
+	 * @param fit values of the components.
+	 */
+	double cf_cal(Scratch sc, double[] x, double[] delta, double[] bias, double[] fit, int cf_num)
+	{
+		double[] w = sc.w;
+		double w_max = 0.0;
+		double w_sum = 0.0;
+		for (int i = 0; i < cf_num; i++)
+		{
+			fit[i] += bias[i];
+			w[i] = 0.0;
+			for (int j = 0; j < nx; j++)
+				w[i] += Math.pow(x[j] - OShift[i * nx + j], 2.0);
+			if (w[i] != 0)
+				w[i] = Math.pow(1.0 / w[i], 0.5) * Math.exp(-w[i] / 2.0 / nx / Math.pow(delta[i], 2.0));
+			else
+				w[i] = 1.0e99;
+			if (w[i] > w_max)
+				w_max = w[i];
+		}
+		for (int i = 0; i < cf_num; i++)
+			w_sum += w[i];
+		if (w_max == 0)
+		{
+			for (int i = 0; i < cf_num; i++)
+				w[i] = 1;
+			w_sum = cf_num;
+		}
+		double f = 0.0;
+		for (int i = 0; i < cf_num; i++)
+			f += w[i] / w_sum * fit[i];
+		return f;
+	}
+
+	double cf01(Scratch sc, double[] x, int r_flag)
+	{
+		double[] fit = sc.fit;
+		fit[0] = 10000.0 * rosenbrock_func(sc, x, nx, 0, 1, r_flag) / 1e+4;
+		fit[1] = 10000.0 * ellips_func(sc, x, nx, 1, 1, 0) / 1e+10;
+		fit[2] = 10000.0 * bent_cigar_func(sc, x, nx, 2, 1, r_flag) / 1e+30;
+		fit[3] = 10000.0 * discus_func(sc, x, nx, 3, 1, r_flag) / 1e+10;
+		fit[4] = 10000.0 * ellips_func(sc, x, nx, 4, 1, 0) / 1e+10;
+		return cf_cal(sc, x, CF_DELTA_10_20_30_40_50, CF_BIAS_5, fit, 5);
+	}
+
+	double cf02(Scratch sc, double[] x, int r_flag)
+	{
+		double[] fit = sc.fit;
+		fit[0] = schwefel_func(sc, x, nx, 0, 1, 0);
+		fit[1] = rastrigin_func(sc, x, nx, 1, 1, r_flag);
+		fit[2] = hgbat_func(sc, x, nx, 2, 1, r_flag);
+		return cf_cal(sc, x, CF_DELTA_20_20_20, CF_BIAS_3, fit, 3);
+	}
+
+	double cf03(Scratch sc, double[] x, int r_flag)
+	{
+		double[] fit = sc.fit;
+		fit[0] = 1000.0 * schwefel_func(sc, x, nx, 0, 1, r_flag) / 4e+3;
+		fit[1] = 1000.0 * rastrigin_func(sc, x, nx, 1, 1, r_flag) / 1e+3;
+		fit[2] = 1000.0 * ellips_func(sc, x, nx, 2, 1, r_flag) / 1e+10;
+		return cf_cal(sc, x, CF_DELTA_10_30_50, CF_BIAS_3, fit, 3);
+	}
+
+	double cf04(Scratch sc, double[] x, int r_flag)
+	{
+		double[] fit = sc.fit;
+		fit[0] = 1000.0 * schwefel_func(sc, x, nx, 0, 1, r_flag) / 4e+3;
+		fit[1] = 1000.0 * happycat_func(sc, x, nx, 1, 1, r_flag) / 1e+3;
+		fit[2] = 1000.0 * ellips_func(sc, x, nx, 2, 1, r_flag) / 1e+10;
+		fit[3] = 1000.0 * weierstrass_func(sc, x, nx, 3, 1, r_flag) / 400;
+		fit[4] = 1000.0 * griewank_func(sc, x, nx, 4, 1, r_flag) / 100;
+		return cf_cal(sc, x, CF_DELTA_10_10_10_10_10, CF_BIAS_5, fit, 5);
+	}
+
+	double cf05(Scratch sc, double[] x, int r_flag)
+	{
+		double[] fit = sc.fit;
+		fit[0] = 10000.0 * hgbat_func(sc, x, nx, 0, 1, r_flag) / 1000;
+		fit[1] = 10000.0 * rastrigin_func(sc, x, nx, 1, 1, r_flag) / 1e+3;
+		fit[2] = 10000.0 * schwefel_func(sc, x, nx, 2, 1, r_flag) / 4e+3;
+		fit[3] = 10000.0 * weierstrass_func(sc, x, nx, 3, 1, r_flag) / 400;
+		fit[4] = 10000.0 * ellips_func(sc, x, nx, 4, 1, r_flag) / 1e+10;
+		return cf_cal(sc, x, CF_DELTA_10_10_10_20_20, CF_BIAS_5, fit, 5);
+	}
+
+	double cf06(Scratch sc, double[] x, int r_flag)
+	{
+		double[] fit = sc.fit;
+		fit[0] = 10000.0 * grie_rosen_func(sc, x, nx, 0, 1, r_flag) / 4e+3;
+		fit[1] = 10000.0 * happycat_func(sc, x, nx, 1, 1, r_flag) / 1e+3;
+		fit[2] = 10000.0 * schwefel_func(sc, x, nx, 2, 1, r_flag) / 4e+3;
+		fit[3] = 10000.0 * escaffer6_func(sc, x, nx, 3, 1, r_flag) / 2e+7;
+		fit[4] = 10000.0 * ellips_func(sc, x, nx, 4, 1, r_flag) / 1e+10;
+		return cf_cal(sc, x, CF_DELTA_10_20_30_40_50, CF_BIAS_5, fit, 5);
+	}
+
+	double cf07(Scratch sc, double[] x, int r_flag)
+	{
+		double[] fit = sc.fit;
+		fit[0] = hf01(sc, x, 0, 1, r_flag);
+		fit[1] = hf02(sc, x, 1, 1, r_flag);
+		fit[2] = hf03(sc, x, 2, 1, r_flag);
+		return cf_cal(sc, x, CF_DELTA_10_30_50, CF_BIAS_3, fit, 3);
+	}
+
+	double cf08(Scratch sc, double[] x, int r_flag)
+	{
+		double[] fit = sc.fit;
+		fit[0] = hf04(sc, x, 0, 1, r_flag);
+		fit[1] = hf05(sc, x, 1, 1, r_flag);
+		fit[2] = hf06(sc, x, 2, 1, r_flag);
+		return cf_cal(sc, x, CF_DELTA_10_30_50, CF_BIAS_3, fit, 3);
+	}
+
+	private static void warnings(int nx, int func_num)
+	{
+		if (nx != 2 && nx != 10 && nx != 20 && nx != 30 && nx != 50 && nx != 100)
+			System.out.println("\nError: Test functions are only defined for D=2,10,20,30,50,100.");
+		if (nx == 2 && ((func_num >= 17 && func_num <= 22) || (func_num >= 29 && func_num <= 30)))
+			System.out.println("\nError: hf01,hf02,hf03,hf04,hf05,hf06,cf07&cf08 are NOT defined for D=2.\n");
+	}
+}
@@ -0,0 +1,169 @@
+package benchmarks.problemsImplementation;
+
+import java.util.Scanner;
+
+import utils.RunAndStore;
+
+/**
+ * CEC 2015 Test Function Suite for Single Objective Optimization.
+ *
+ * Same functions (and same results) of CEC2015TestFunc, but rotation matrices, shift vectors and shuffle vectors
+ * are served by CECData, i.e. they are parsed only once, stored in binary form and shared between instances.
+ */
+public class CEC2015Evaluator
+{
+	static final int[] bShuffle = {0, 0, 0, 0, 0, 0, 1, 1, 1, 0, 1, 0, 0, 1, 0, 0};
+
+	final double[] OShift;
+	final double[] M;
+	final double[] bias;
+	final int[] SS;
+	final int func_num;
+	final int cf_num;
+	final int nx;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param nx dimensionality of the problem (admissible values are: 10, 30, 50 and 100).
+	 * @param func_num index of the problem to be used (15 problems in this suite!).
+	 */
+	public CEC2015Evaluator(int nx, int func_num) throws Exception
+	{
+		this.nx = nx;
+		this.func_num = func_num;
+		this.cf_num = CEC2015TestFunc.cf_nums[func_num];
+		warnings(nx);
+		this.M = getM(nx, func_num, cf_num);
+		this.bias = getBias(func_num, cf_num);
+		this.OShift = getShift(nx, func_num, cf_num);
+		this.SS = (bShuffle[func_num] == 1) ? getShuffle(nx, func_num, cf_num) : null;
+	}
+
+	public double f(double[] x)
+	{
+		checkDimension(x);
+		return evaluate(x);
+	}
+
+	/**
+	 * Evaluate xs[from], ..., xs[to-1] (out[i] = f(xs[i])).
+	 * The dimension of the solutions is checked once, before the evaluations.
+	 */
+	public void f(double[][] xs, int from, int to, double[] out)
+	{
+		for (int i = from; i < to; i++)
+			checkDimension(xs[i]);
+		for (int i = from; i < to; i++)
+			out[i] = evaluate(xs[i]);
+	}
+
+	private void checkDimension(double[] x)
+	{
+		if (x.length != nx)
+			throw new IllegalArgumentException("Solution of dimension " + x.length + " for a problem of dimension " + nx);
+	}
+
+	private double evaluate(double[] x)
+	{
+		double f = Double.NaN;
+		switch (func_num)
+		{
+			case 1: f = CEC2015TestFunc.ellips_func(x, nx, OShift, M, 1, 1) + 100.0; break;
+			case 2: f = CEC2015TestFunc.bent_cigar_func(x, nx, OShift, M, 1, 1) + 200.0; break;
+			case 3: f = CEC2015TestFunc.ackley_func(x, nx, OShift, M, 1, 1) + 300.0; break;
+			case 4: f = CEC2015TestFunc.rastrigin_func(x, nx, OShift, M, 1, 1) + 400.0; break;
+			case 5: f = CEC2015TestFunc.schwefel_func(x, nx, OShift, M, 1, 1) + 500.0; break;
+			case 6: f = CEC2015TestFunc.hf01(x, nx, OShift, M, SS, 1, 1) + 600.0; break;
+			case 7: f = CEC2015TestFunc.hf02(x, nx, OShift, M, SS, 1, 1) + 700.0; break;
+			case 8: f = CEC2015TestFunc.hf03(x, nx, OShift, M, SS, 1, 1) + 800.0; break;
+			case 9: f = CEC2015TestFunc.cf01(x, nx, OShift, M, bias, 1) + 900.0; break;
+			case 10: f = CEC2015TestFunc.cf02(x, nx, OShift, M, SS, bias, 1) + 1000.0; break;
+			case 11: f = CEC2015TestFunc.cf03(x, nx, OShift, M, bias, 1) + 1100.0; break;
+			case 12: f = CEC2015TestFunc.cf04(x, nx, OShift, M, bias, 1) + 1200.0; break;
+			case 13: f = CEC2015TestFunc.cf05(x, nx, OShift, M, SS, bias, 1) + 1300.0; break;
+			case 14: f = CEC2015TestFunc.cf06(x, nx, OShift, M, bias, 1) + 1400.0; break;
+			case 15: f = CEC2015TestFunc.cf07(x, nx, OShift, M, bias, 1) + 1500.0; break;
+			default:
+				System.out.println("\nError: There are only 15 test functions in this test suite!");
+				f = Double.NaN;
+		}
+		return f;
+	}
+
+	public int getDimension() { return nx; }
+
+	public int getFunctionNumber() { return func_num; }
+
+	/*
+	 * DATA
+	 */
+
+	private static String file(String name)
+	{
+		return "CEC2015_extra" + RunAndStore.slash() + "files_cec2015" + RunAndStore.slash() + name;
+	}
+
+	private static double[] getM(final int nx, final int func_num, final int cf_num) throws Exception
+	{
+		// all dimensions (10 and 30 included) are read from the text files the first time only, the MMatrix constant classes are never loaded
+		return CECData.getDoubles(CECData.name(CECData.CEC2015, "M", func_num, nx), new CECData.TextSource<double[]>()
+		{
+			public double[] read() throws Exception
+			{
+				double[] M = new double[cf_num * nx * nx];
+				Scanner input = new Scanner(CEC2015Evaluator.class.getResourceAsStream(file("M_" + func_num + "_D" + nx + ".txt")));
+				for (int i = 0; i < M.length; i++)
+					M[i] = input.nextDouble();
+				input.close();
+				return M;
+			}
+		});
+	}
+
+	private static double[] getBias(int func_num, int cf_num)
+	{
+		double[] bias = new double[cf_num];
+		if (func_num >= 9)
+			System.arraycopy(CEC2015TestFunc.BIAS[func_num - 9], 0, bias, 0, cf_num);
+		return bias;
+	}
+
+	private static double[] getShift(final int nx, final int func_num, final int cf_num) throws Exception
+	{
+		return CECData.getDoubles(CECData.name(CECData.CEC2015, "shift_data", func_num, nx), new CECData.TextSource<double[]>()
+		{
+			public double[] read() throws Exception
+			{
+				double[] OShift = new double[cf_num * nx];
+				Scanner input = new Scanner(CEC2015Evaluator.class.getResourceAsStream(file("shift_data_" + func_num + ".txt")));
+				for (int i = 0; i < OShift.length; i++)
+					OShift[i] = input.nextDouble();
+				input.close();
+				return OShift;
+			}
+		});
+	}
+
+	private static int[] getShuffle(final int nx, final int func_num, final int cf_num) throws Exception
+	{
+		return CECData.getInts(CECData.name(CECData.CEC2015, "shuffle_data", func_num, nx), new CECData.TextSource<int[]>()
+		{
+			public int[] read() throws Exception
+			{
+				int[] SS = new int[cf_num * nx];
+				Scanner input = new Scanner(CEC2015Evaluator.class.getResourceAsStream(file("shuffle_data_" + func_num + "_D" + nx + ".txt")));
+				for (int i = 0; i < SS.length; i++)
+					SS[i] = input.nextInt();
+				input.close();
+				return SS;
+			}
+		});
+	}
+
+	private static void warnings(int nx)
+	{
+		if (nx != 2 && nx != 10 && nx != 30 && nx != 50 && nx != 100)
+			System.out.println("\nError: Test functions are only defined for 10,30,50,100.");
+	}
+}
@@ -0,0 +1,228 @@
+package benchmarks.problemsImplementation;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ConcurrentHashMap;
+
+import utils.RunAndStore;
+
+/**
+ * Binary data store for the rotation matrices, shift vectors and shuffle vectors of the CEC test suites.
+ *
+ * The text files shipped with the suites are parsed only once: the resulting arrays are written into a compact
+ * little-endian binary file (one file per suite, function and dimension) which is memory-mapped on later loads.
+ * Decoded arrays are also cached for the whole process, so that repeated problems share the same array instance.
+ * Arrays returned by this class are shared and must never be modified.
+ */
+public class CECData
+{
+	/** Suite name of the CEC 2014 benchmark. */
+	public static final String CEC2014 = "cec2014";
+	/** Suite name of the CEC 2015 benchmark. */
+	public static final String CEC2015 = "cec2015";
+
+	private static final int MAGIC = 0x43454342; // "CECB"
+	private static final int VERSION = 1;
+	private static final int DOUBLES = 0;
+	private static final int INTS = 1;
+	private static final int HEADER = 16; // magic, version, type and length (4 bytes each)
+
+	private static final ConcurrentHashMap<String, Object> cache = new ConcurrentHashMap<String, Object>();
+	private static String cacheFolder = System.getProperty("cec.cache", "." + RunAndStore.slash() + "cec_cache");
+
+	/**
+	 * Source of the data in its original (text) format.
+	 * It is used only when the binary file has not been generated yet.
+	 */
+	public interface TextSource<T>
+	{
+		T read() throws Exception;
+	}
+
+	/**
+	 * Set the folder where the binary files are stored (default "./cec_cache", or the "cec.cache" system property).
+	 */
+	public static void setCacheFolder(String folder) { cacheFolder = folder; }
+
+	public static String getCacheFolder() { return cacheFolder; }
+
+	/**
+	 * Drop all the arrays cached in memory (binary files are kept).
+	 */
+	public static void clear() { cache.clear(); }
+
+	/**
+	 * Name of a data set, used both as cache key and as relative path of its binary file.
+	 *
+	 * @param suite suite name (e.g. CECData.CEC2014).
+	 * @param kind kind of data (e.g. "M", "shift_data", "shuffle_data").
+	 * @param func function number.
+	 * @param nx problem dimension.
+	 * @return name of the data set.
+	 */
+	public static String name(String suite, String kind, int func, int nx)
+	{
+		return suite + "/" + kind + "_" + func + "_D" + nx;
+	}
+
+	/**
+	 * Load an array of doubles.
+	 *
+	 * @param name name of the data set (see CECData.name).
+	 * @param text parser of the original text file, used when no binary file is available.
+	 * @return the shared array.
+	 */
+	public static double[] getDoubles(String name, TextSource<double[]> text) throws Exception
+	{
+		double[] data = (double[]) cache.get(name);
+		if (data == null)
+			data = (double[]) load(name, DOUBLES, text);
+		return data;
+	}
+
+	/**
+	 * Load an array of integers.
+	 *
+	 * @param name name of the data set (see CECData.name).
+	 * @param text parser of the original text file, used when no binary file is available.
+	 * @return the shared array.
+	 */
+	public static int[] getInts(String name, TextSource<int[]> text) throws Exception
+	{
+		int[] data = (int[]) cache.get(name);
+		if (data == null)
+			data = (int[]) load(name, INTS, text);
+		return data;
+	}
+
+	private static synchronized Object load(String name, int type, TextSource<?> text) throws Exception
+	{
+		Object data = cache.get(name);
+		if (data != null)
+			return data;
+
+		File file = binaryFile(name);
+		if (file.exists())
+			data = map(file, type);
+		if (data == null)
+		{
+			data = text.read();
+			write(file, type, data);
+		}
+
+		cache.put(name, data);
+		return data;
+	}
+
+	private static File binaryFile(String name)
+	{
+		return new File(cacheFolder + RunAndStore.slash() + name.replace("/", RunAndStore.slash()) + ".bin");
+	}
+
+	/**
+	 * Read a binary file through a memory mapping.
+	 *
+	 * @return the decoded array, or null if the file is not valid (it will then be regenerated).
+	 */
+	private static Object map(File file, int type) throws Exception
+	{
+		FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+		try
+		{
+			if (channel.size() < HEADER)
+				return null;
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+			int length = buffer.getInt(12);
+			int width = (type == DOUBLES) ? 8 : 4;
+			if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION || buffer.getInt(8) != type || channel.size() != HEADER + (long) width * length)
+				return null;
+
+			buffer.position(HEADER);
+			if (type == DOUBLES)
+			{
+				double[] data = new double[length];
+				buffer.asDoubleBuffer().get(data);
+				return data;
+			}
+			else
+			{
+				int[] data = new int[length];
+				buffer.asIntBuffer().get(data);
+				return data;
+			}
+		}
+		finally
+		{
+			channel.close();
+		}
+	}
+
+	/**
+	 * Write an array into its binary file. The file is written aside and then moved, so that concurrent processes never map half-written files.
+	 * Failures are not fatal: the data simply keep being parsed from text.
+	 */
+	private static void write(File file, int type, Object data)
+	{
+		try
+		{
+			int length = (type == DOUBLES) ? ((double[]) data).length : ((int[]) data).length;
+			int width = (type == DOUBLES) ? 8 : 4;
+			ByteBuffer buffer = ByteBuffer.allocate(HEADER + width * length).order(ByteOrder.LITTLE_ENDIAN);
+			buffer.putInt(MAGIC).putInt(VERSION).putInt(type).putInt(length);
+			if (type == DOUBLES)
+				buffer.asDoubleBuffer().put((double[]) data);
+			else
+				buffer.asIntBuffer().put((int[]) data);
+			buffer.rewind();
+
+			file.getParentFile().mkdirs();
+			Path tmp = Files.createTempFile(file.getParentFile().toPath(), file.getName(), ".tmp");
+			FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE);
+			try
+			{
+				while (buffer.hasRemaining())
+					channel.write(buffer);
+			}
+			finally
+			{
+				channel.close();
+			}
+			Files.move(tmp, file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+		catch (Exception e)
+		{
+			System.out.println("WARNING: unable to store " + file.getPath() + " (" + e.getMessage() + ")");
+		}
+	}
+
+	/**
+	 * One-time conversion of all the CEC 2014 and CEC 2015 text files into binary files.
+	 * Usage: java benchmarks.problemsImplementation.CECData [cache folder]
+	 */
+	public static void main(String[] args) throws Exception
+	{
+		if (args.length > 0)
+			setCacheFolder(args[0]);
+
+		int[] dimensions = {10, 20, 30, 50, 100};
+		for (int nx : dimensions)
+			for (int func = 1; func <= 30; func++)
+				new CEC2014Evaluator(nx, func);
+
+		int[] dimensions15 = {10, 30, 50, 100};
+		for (int nx : dimensions15)
+			for (int func = 1; func <= 15; func++)
+				new CEC2015Evaluator(nx, func);
+
+		System.out.println("Binary files stored in " + new File(cacheFolder).getAbsolutePath());
+	}
+}
@@ -0,0 +1,83 @@
+package benchmarks.problemsImplementation;
+
+/**
+ * Vectorised (SIMD) kernels of the benchmark functions.
+ *
+ * The kernels are implemented with the JDK Vector API (VectorKernels, module jdk.incubator.vector, in the separate source folder simd,
+ * so that the rest of the platform compiles without the module) and are used only when enabled, i.e. when VectorKernels has been compiled
+ * and the JVM is started with "--add-modules jdk.incubator.vector -Dsos.simd=true". Otherwise VECTOR is null and the functions
+ * keep running their scalar code. Vectorised sums are accumulated in a different order, hence results agree with the scalar code
+ * within a relative tolerance but are not bit-identical (see RunKernelCheck).
+ */
+public abstract class Kernels
+{
+	/**
+	 * Vectorised kernels, null if disabled or if the Vector API is not available.
+	 */
+	public static final Kernels VECTOR = load();
+
+	private static Kernels load()
+	{
+		if (!Boolean.getBoolean("sos.simd"))
+			return null;
+		if (!ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent())
+		{
+			System.out.println("WARNING: -Dsos.simd=true requires --add-modules jdk.incubator.vector, scalar code is used.");
+			return null;
+		}
+		try
+		{
+			return (Kernels) Class.forName(Kernels.class.getPackage().getName() + ".VectorKernels").getDeclaredConstructor().newInstance();
+		}
+		catch (Throwable e)
+		{
+			System.out.println("WARNING: vectorised kernels not available (" + e + "), scalar code is used.");
+			return null;
+		}
+	}
+
+	/**
+	 * sum x[i]^2
+	 */
+	public abstract double sumOfSquares(double[] x);
+
+	/**
+	 * sum cos(c * x[i])
+	 */
+	public abstract double sumOfCos(double[] x, double c);
+
+	/**
+	 * sum x[i]^2 - 10 cos(2 pi x[i])
+	 */
+	public abstract double rastrigin(double[] x);
+
+	/**
+	 * sum |x[i] sin(x[i]) + 0.1 x[i]|
+	 */
+	public abstract double alpine(double[] x);
+
+	/**
+	 * sum x[i] sin(sqrt(|x[i]|))
+	 */
+	public abstract double schwefel(double[] x);
+
+	/**
+	 * sum sin(x[i]) sin((i+1) x[i]^2 / pi)^(2m)
+	 */
+	public abstract double michalewicz(double[] x, int m);
+
+	/**
+	 * out[i] = (x[i] - o[oOffset + i]) * rate, for i = 0, ..., n-1
+	 */
+	public abstract void shift(double[] x, double[] o, int oOffset, double rate, double[] out, int n);
+
+	/**
+	 * out[i] = sum_j M[mOffset + i*n + j] * y[j], for i = 0, ..., n-1 (n x n row-major matrix)
+	 */
+	public abstract void rotate(double[] M, int mOffset, double[] y, double[] out, int n);
+
+	/**
+	 * out[outOffset + i] = sum_j M[mOffset + i*n + j] * y[j], for i = 0, ..., rows-1 (rows x n row-major matrix)
+	 */
+	public abstract void multiply(double[] M, int mOffset, double[] y, double[] out, int outOffset, int rows, int n);
+}
@@ -0,0 +1,143 @@
+package jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import utils.algorithms.Bounds;
+import utils.algorithms.Misc;
+import utils.random.RandomStream;
+
+/**
+ * Cost of the corrections within the search space: Misc (allocating a new solution) against Bounds (in place, precomputed ranges),
+ * on whole solutions and, as in the moves of S, SResetDelta and jDES, on the single variable being perturbed.
+ * Points are drawn from the search space enlarged by a fraction of its range on each side (outside: 0.1 puts about 1/6 of the values out of bounds).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoundsBenchmark
+{
+	private static final int POINTS = 1024; // power of 2
+
+	@Param({"10", "30", "100"})
+	public int dimension;
+
+	@Param({"0.0", "0.1"})
+	public double outside;
+
+	private double[][] bounds;
+	private Bounds searchSpace;
+	private double[][] points;
+	private double[] x;
+	private int next = 0;
+	private int coordinate = 0;
+
+	@Setup(Level.Trial)
+	public void setup()
+	{
+		bounds = new double[dimension][];
+		for (int i = 0; i < dimension; i++)
+			bounds[i] = new double[] {-100, 100};
+		searchSpace = new Bounds(bounds);
+		RandomStream rng = new RandomStream(1);
+		points = new double[POINTS][dimension];
+		for (double[] point : points)
+			for (int i = 0; i < dimension; i++)
+				point[i] = -100 - 200 * outside + 200 * (1 + 2 * outside) * rng.random();
+		x = new double[dimension];
+	}
+
+	private double[] nextPoint()
+	{
+		double[] point = points[next];
+		next = (next + 1) & (POINTS - 1);
+		return point;
+	}
+
+	private int nextCoordinate()
+	{
+		int i = coordinate;
+		coordinate = (coordinate + 1 == dimension) ? 0 : coordinate + 1;
+		return i;
+	}
+
+	/**
+	 * Move along one axis corrected as in the original S: the whole solution is corrected into a new array.
+	 */
+	@Benchmark
+	public double[] miscToroMove()
+	{
+		double[] point = nextPoint();
+		return Misc.toro(point, bounds);
+	}
+
+	/**
+	 * Move along one axis corrected on the perturbed variable only.
+	 */
+	@Benchmark
+	public double boundsToroMove()
+	{
+		double[] point = nextPoint();
+		int i = nextCoordinate();
+		return searchSpace.toro(point[i], i);
+	}
+
+	@Benchmark
+	public double[] miscToroInPlace()
+	{
+		System.arraycopy(nextPoint(), 0, x, 0, dimension);
+		return toro(x, bounds);
+	}
+
+	/**
+	 * The correction of Misc.toro(x, bounds) applied in place (every value rescaled, no precomputed ranges).
+	 */
+	private static double[] toro(double[] x, double[][] bounds)
+	{
+		for (int i = 0; i < x.length; i++)
+		{
+			double r = (x[i] - bounds[i][0]) / (bounds[i][1] - bounds[i][0]);
+			if (r > 1)
+				r = r - Misc.fix(r);
+			else if (r < 0)
+				r = 1 - Math.abs(r - Misc.fix(r));
+			x[i] = r * (bounds[i][1] - bounds[i][0]) + bounds[i][0];
+		}
+		return x;
+	}
+
+	@Benchmark
+	public double[] boundsToroInPlace()
+	{
+		System.arraycopy(nextPoint(), 0, x, 0, dimension);
+		return searchSpace.toro(x);
+	}
+
+	@Benchmark
+	public double[] miscSaturate()
+	{
+		return Misc.saturate(nextPoint(), bounds);
+	}
+
+	@Benchmark
+	public double[] boundsSaturateInPlace()
+	{
+		System.arraycopy(nextPoint(), 0, x, 0, dimension);
+		return searchSpace.saturate(x);
+	}
+}
@@ -0,0 +1,68 @@
+package jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import interfaces.Problem;
+
+/**
+ * Throughput of the benchmark functions: time (and, with the GC profiler, memory allocated) per fitness evaluation.
+ *
+ * Each function is evaluated on a fixed set of random points of its search space, visited cyclically.
+ * The reference implementations of the CEC suites (from benchmarks.jar) can be selected with -p function=CEC2014TestFunc.f1 (or CEC2015TestFunc.f1).
+ * The fused shift and rotation of CEC2014 is measured with -p function=CEC2014.f1.fused, the Weierstrass recurrence with -p function=CEC2014.f6.recurrence.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FunctionBenchmark
+{
+	private static final int POINTS = 1024; // power of 2
+
+	@Param({"10", "30", "50", "100"})
+	public int dimension;
+
+	@Param({
+			"Ackley", "Alpine", "Michalewicz", "Rastrigin", "Rosenbrock", "Schwefel", "Sphere", "CEC2014.f1",
+			"CEC2014.f2", "CEC2014.f3", "CEC2014.f4", "CEC2014.f5", "CEC2014.f6", "CEC2014.f7", "CEC2014.f8", "CEC2014.f9",
+			"CEC2014.f10", "CEC2014.f11", "CEC2014.f12", "CEC2014.f13", "CEC2014.f14", "CEC2014.f15", "CEC2014.f16", "CEC2014.f17",
+			"CEC2014.f18", "CEC2014.f19", "CEC2014.f20", "CEC2014.f21", "CEC2014.f22", "CEC2014.f23", "CEC2014.f24", "CEC2014.f25",
+			"CEC2014.f26", "CEC2014.f27", "CEC2014.f28", "CEC2014.f29", "CEC2014.f30", "CEC2015.f1", "CEC2015.f2", "CEC2015.f3",
+			"CEC2015.f4", "CEC2015.f5", "CEC2015.f6", "CEC2015.f7", "CEC2015.f8", "CEC2015.f9", "CEC2015.f10", "CEC2015.f11",
+			"CEC2015.f12", "CEC2015.f13", "CEC2015.f14", "CEC2015.f15"})
+	public String function;
+
+	private Problem problem;
+	private double[][] points;
+	private int next = 0;
+
+	@Setup(Level.Trial)
+	public void setup() throws Exception
+	{
+		problem = Functions.create(function, dimension);
+		points = Functions.randomPoints(problem, POINTS, 1);
+	}
+
+	@Benchmark
+	public double f() throws Exception
+	{
+		double[] x = points[next];
+		next = (next + 1) & (POINTS - 1);
+		return problem.f(x);
+	}
+}
@@ -0,0 +1,78 @@
+package jmh;
+
+import benchmarks.BaseFunctions;
+import benchmarks.CEC2014;
+import benchmarks.CEC2015;
+import benchmarks.problemsImplementation.CEC2014TestFunc;
+import benchmarks.problemsImplementation.CEC2015TestFunc;
+import interfaces.Problem;
+import utils.random.RandomStream;
+
+/**
+ * Problems addressed by name in the benchmarks.
+ */
+public class Functions
+{
+	/**
+	 * Problem from its name: a class of BaseFunctions (e.g. "Rastrigin"), a function of a CEC suite ("CEC2014.f5", "CEC2015.f12")
+	 * or a function of the original CEC implementations ("CEC2014TestFunc.f5", "CEC2015TestFunc.f12").
+	 * The options of CEC2014 follow the number, as in the FID of the problem ("CEC2014.f5.fused", "CEC2014.f6.fused.recurrence").
+	 */
+	public static Problem create(String name, int dimension) throws Exception
+	{
+		int dot = name.indexOf(".f");
+		if (dot < 0)
+			return (Problem) Class.forName(BaseFunctions.class.getName() + "$" + name).getConstructor(int.class).newInstance(dimension);
+
+		String suite = name.substring(0, dot);
+		String[] fields = name.substring(dot + 2).split("\\.");
+		int number = Integer.parseInt(fields[0]);
+		boolean fused = false;
+		boolean recurrence = false;
+		for (int i = 1; i < fields.length; i++)
+		{
+			if (suite.equals("CEC2014") && fields[i].equals("fused"))
+				fused = true;
+			else if (suite.equals("CEC2014") && fields[i].equals("recurrence"))
+				recurrence = true;
+			else
+				throw new IllegalArgumentException("Unknown option of " + suite + ": " + fields[i]);
+		}
+		switch (suite)
+		{
+			case "CEC2014": return new CEC2014(dimension, number, fused, recurrence);
+			case "CEC2015": return new CEC2015(dimension, number);
+			case "CEC2014TestFunc":
+			{
+				final CEC2014TestFunc testFunc = new CEC2014TestFunc(dimension, number);
+				return new Problem(dimension, new double[] {-100, 100})
+				{
+					public double f(double[] x) { return testFunc.f(x); }
+				};
+			}
+			case "CEC2015TestFunc":
+			{
+				final CEC2015TestFunc testFunc = new CEC2015TestFunc(dimension, number);
+				return new Problem(dimension, new double[] {-100, 100})
+				{
+					public double f(double[] x) { return testFunc.f(x); }
+				};
+			}
+			default: throw new IllegalArgumentException("Unknown function: " + name);
+		}
+	}
+
+	/**
+	 * Points uniformly distributed in the search space of a problem.
+	 */
+	public static double[][] randomPoints(Problem problem, int n, long seed)
+	{
+		RandomStream rng = new RandomStream(seed);
+		double[][] bounds = problem.getBounds();
+		double[][] points = new double[n][problem.getDimension()];
+		for (int i = 0; i < n; i++)
+			for (int j = 0; j < points[i].length; j++)
+				points[i][j] = rng.uniform(bounds[j][0], bounds[j][1]);
+		return points;
+	}
+}
@@ -0,0 +1,132 @@
+package jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import algorithms.CMAES;
+import algorithms.DE;
+import algorithms.ISPO;
+import algorithms.S;
+import algorithms.SResetDelta;
+import algorithms.jDES;
+import interfaces.Algorithm;
+import interfaces.Problem;
+import utils.RunAndStore.FTrend;
+import utils.random.RandomStream;
+
+/**
+ * Cost of the algorithms themselves (operators, bounds handling, random numbers, bookkeeping), measured by running them on a stub
+ * problem whose evaluation costs almost nothing. Scores are per fitness evaluation: each invocation is a whole run of EVALUATIONS evaluations,
+ * hence the time (and, with the GC profiler, the memory allocated) per operation is the overhead of the algorithm per evaluation.
+ * The population factor only affects DE and jDES (population size = factor * dimension).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OptimiserBenchmark
+{
+	public static final int EVALUATIONS = 20000;
+
+	@Param({"DE", "jDES", "S", "SResetDelta", "ISPO", "CMAES"})
+	public String algorithm;
+
+	@Param({"10", "30", "100"})
+	public int dimension;
+
+	@Param({"5", "10"})
+	public int populationFactor;
+
+	private Algorithm optimiser;
+	private Problem problem;
+	private long seed = 0;
+
+	/**
+	 * Problem returning the first design variable (no work, but the value still depends on the solution).
+	 */
+	public static class Stub extends Problem
+	{
+		public Stub(int dimension) { super(dimension, new double[] {-100, 100}); }
+
+		public double f(double[] x) { return x[0]; }
+	}
+
+	@Setup(Level.Trial)
+	public void setup()
+	{
+		problem = new Stub(dimension);
+		optimiser = create(algorithm, dimension, populationFactor);
+		optimiser.setID();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(EVALUATIONS)
+	public FTrend run() throws Exception
+	{
+		return optimiser.execute(problem, EVALUATIONS, new RandomStream(seed++));
+	}
+
+	/**
+	 * Algorithm with the settings used in the experiments.
+	 */
+	public static Algorithm create(String name, int dimension, int populationFactor)
+	{
+		Algorithm a;
+		switch (name)
+		{
+			case "DE":
+				a = new DE();
+				a.setParameter("p0", (double) populationFactor * dimension);
+				a.setParameter("p1", 0.5);
+				a.setParameter("p2", 0.8);
+				return a;
+			case "jDES":
+				a = new jDES();
+				a.setParameter("p0", (double) populationFactor * dimension);
+				a.setParameter("p3", 0.1);
+				a.setParameter("p4", 1.0);
+				a.setParameter("p5", 0.1);
+				a.setParameter("p6", 0.1);
+				a.setParameter("p7", 0.2);
+				a.setParameter("p8", 100.0);
+				return a;
+			case "S":
+				a = new S();
+				a.setParameter("p0", 0.4);
+				return a;
+			case "SResetDelta":
+				a = new SResetDelta();
+				a.setParameter("p0", 0.4);
+				a.setParameter("p1", 20.0);
+				return a;
+			case "ISPO":
+				a = new ISPO();
+				a.setParameter("p0", 1.0);
+				a.setParameter("p1", 10.0);
+				a.setParameter("p2", 2.0);
+				a.setParameter("p3", 4.0);
+				a.setParameter("p4", 1e-5);
+				a.setParameter("p5", 30.0);
+				return a;
+			case "CMAES":
+				return new CMAES();
+			default:
+				throw new IllegalArgumentException("Unknown algorithm: " + name);
+		}
+	}
+}
@@ -0,0 +1,159 @@
+package benchmarks.problemsImplementation;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Kernels implemented with the JDK Vector API (compile and run with --add-modules jdk.incubator.vector).
+ * This source folder (simd) is compiled separately, only where the module is available, e.g.
+ * javac --add-modules jdk.incubator.vector -cp bin -d bin simd/benchmarks/problemsImplementation/VectorKernels.java
+ * Loaded by Kernels only when enabled: do not reference this class directly.
+ */
+class VectorKernels extends Kernels
+{
+	private static final VectorSpecies<Double> S = DoubleVector.SPECIES_PREFERRED;
+	private static final int L = S.length();
+	private static final double[] IOTA = new double[L]; // 0, 1, ..., L-1
+
+	static
+	{
+		for (int i = 0; i < L; i++)
+			IOTA[i] = i;
+	}
+
+	public double sumOfSquares(double[] x)
+	{
+		int n = x.length;
+		int upper = S.loopBound(n);
+		DoubleVector acc = DoubleVector.zero(S);
+		int i = 0;
+		for (; i < upper; i += L)
+		{
+			DoubleVector v = DoubleVector.fromArray(S, x, i);
+			acc = v.fma(v, acc);
+		}
+		double sum = acc.reduceLanes(VectorOperators.ADD);
+		for (; i < n; i++)
+			sum += x[i] * x[i];
+		return sum;
+	}
+
+	public double sumOfCos(double[] x, double c)
+	{
+		int n = x.length;
+		int upper = S.loopBound(n);
+		DoubleVector acc = DoubleVector.zero(S);
+		int i = 0;
+		for (; i < upper; i += L)
+			acc = acc.add(DoubleVector.fromArray(S, x, i).mul(c).lanewise(VectorOperators.COS));
+		double sum = acc.reduceLanes(VectorOperators.ADD);
+		for (; i < n; i++)
+			sum += Math.cos(c * x[i]);
+		return sum;
+	}
+
+	public double rastrigin(double[] x)
+	{
+		int n = x.length;
+		int upper = S.loopBound(n);
+		DoubleVector acc = DoubleVector.zero(S);
+		int i = 0;
+		for (; i < upper; i += L)
+		{
+			DoubleVector v = DoubleVector.fromArray(S, x, i);
+			DoubleVector cos = v.mul(2 * Math.PI).lanewise(VectorOperators.COS);
+			acc = acc.add(v.fma(v, cos.mul(-10.0)));
+		}
+		double sum = acc.reduceLanes(VectorOperators.ADD);
+		for (; i < n; i++)
+			sum += x[i] * x[i] - 10 * Math.cos(2 * Math.PI * x[i]);
+		return sum;
+	}
+
+	public double alpine(double[] x)
+	{
+		int n = x.length;
+		int upper = S.loopBound(n);
+		DoubleVector acc = DoubleVector.zero(S);
+		int i = 0;
+		for (; i < upper; i += L)
+		{
+			DoubleVector v = DoubleVector.fromArray(S, x, i);
+			acc = acc.add(v.fma(v.lanewise(VectorOperators.SIN), v.mul(0.1)).abs());
+		}
+		double sum = acc.reduceLanes(VectorOperators.ADD);
+		for (; i < n; i++)
+			sum += Math.abs(x[i] * Math.sin(x[i]) + 0.1 * x[i]);
+		return sum;
+	}
+
+	public double schwefel(double[] x)
+	{
+		int n = x.length;
+		int upper = S.loopBound(n);
+		DoubleVector acc = DoubleVector.zero(S);
+		int i = 0;
+		for (; i < upper; i += L)
+		{
+			DoubleVector v = DoubleVector.fromArray(S, x, i);
+			acc = v.fma(v.abs().sqrt().lanewise(VectorOperators.SIN), acc);
+		}
+		double sum = acc.reduceLanes(VectorOperators.ADD);
+		for (; i < n; i++)
+			sum += x[i] * Math.sin(Math.sqrt(Math.abs(x[i])));
+		return sum;
+	}
+
+	public double michalewicz(double[] x, int m)
+	{
+		int n = x.length;
+		int upper = S.loopBound(n);
+		DoubleVector acc = DoubleVector.zero(S);
+		DoubleVector iota = DoubleVector.fromArray(S, IOTA, 0);
+		int i = 0;
+		for (; i < upper; i += L)
+		{
+			DoubleVector v = DoubleVector.fromArray(S, x, i);
+			DoubleVector index = iota.add(i + 1.0);
+			DoubleVector inner = index.mul(v.mul(v)).div(Math.PI).lanewise(VectorOperators.SIN);
+			acc = v.lanewise(VectorOperators.SIN).fma(inner.pow(2.0 * m), acc);
+		}
+		double sum = acc.reduceLanes(VectorOperators.ADD);
+		for (; i < n; i++)
+			sum += Math.sin(x[i]) * Math.pow(Math.sin((i + 1) * x[i] * x[i] / Math.PI), 2 * m);
+		return sum;
+	}
+
+	public void shift(double[] x, double[] o, int oOffset, double rate, double[] out, int n)
+	{
+		int upper = S.loopBound(n);
+		int i = 0;
+		for (; i < upper; i += L)
+			DoubleVector.fromArray(S, x, i).sub(DoubleVector.fromArray(S, o, oOffset + i)).mul(rate).intoArray(out, i);
+		for (; i < n; i++)
+			out[i] = (x[i] - o[oOffset + i]) * rate;
+	}
+
+	public void rotate(double[] M, int mOffset, double[] y, double[] out, int n)
+	{
+		multiply(M, mOffset, y, out, 0, n, n);
+	}
+
+	public void multiply(double[] M, int mOffset, double[] y, double[] out, int outOffset, int rows, int n)
+	{
+		int upper = S.loopBound(n);
+		for (int i = 0; i < rows; i++)
+		{
+			int row = mOffset + i * n;
+			DoubleVector acc = DoubleVector.zero(S);
+			int j = 0;
+			for (; j < upper; j += L)
+				acc = DoubleVector.fromArray(S, y, j).fma(DoubleVector.fromArray(S, M, row + j), acc);
+			double sum = acc.reduceLanes(VectorOperators.ADD);
+			for (; j < n; j++)
+				sum += y[j] * M[row + j];
+			out[outOffset + i] = sum;
+		}
+	}
+}
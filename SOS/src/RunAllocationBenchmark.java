@@ -0,0 +1,66 @@
+/** @file RunAllocationBenchmark.java
+ *
+ *  Memory allocated by the main loop of the DE-family algorithms.
+*/
+import java.lang.management.ManagementFactory;
+
+import interfaces.Algorithm;
+import interfaces.Problem;
+import algorithms.DE;
+import algorithms.jDES;
+import benchmarks.BaseFunctions.Sphere;
+import utils.random.RandomStream;
+
+/**
+ * Allocation benchmark.
+ * Every algorithm is run twice on the (allocation-free) Sphere function with budgets B and 2B, measuring the bytes allocated by the running thread.
+ * The difference between the two runs, divided by B, is the memory allocated per fitness evaluation by the steady-state loop (initialisation excluded).
+ *
+ * Usage: java RunAllocationBenchmark [problem dimension] [budget factor]
+ */
+public class RunAllocationBenchmark
+{
+	public static void main(String[] args) throws Exception
+	{
+		int probDim = (args.length > 0) ? Integer.parseInt(args[0]) : 100;
+		int budgetFactor = (args.length > 1) ? Integer.parseInt(args[1]) : 500;
+
+		com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		bean.setThreadAllocatedMemoryEnabled(true);
+
+		Algorithm[] algorithms = new Algorithm[2];
+		algorithms[0] = new DE();
+		algorithms[0].setParameter("p0", 10.0 * probDim);
+		algorithms[0].setParameter("p1", 0.5);
+		algorithms[0].setParameter("p2", 0.8);
+		algorithms[1] = new jDES();
+		algorithms[1].setParameter("p0", 10.0 * probDim);
+		algorithms[1].setParameter("p3", 0.1);
+		algorithms[1].setParameter("p4", 1.0);
+		algorithms[1].setParameter("p5", 0.1);
+		algorithms[1].setParameter("p6", 0.1);
+		algorithms[1].setParameter("p7", 0.2);
+		algorithms[1].setParameter("p8", 100.0);
+
+		Problem problem = new Sphere(probDim);
+		int budget = budgetFactor * probDim;
+		long thread = Thread.currentThread().getId();
+
+		System.out.println("Sphere, D = " + probDim + ", B = " + budget + " evaluations");
+		for (Algorithm algorithm : algorithms)
+		{
+			algorithm.setID();
+			algorithm.execute(problem, budget, new RandomStream(0)); // warm-up
+
+			long a0 = bean.getThreadAllocatedBytes(thread);
+			algorithm.execute(problem, budget, new RandomStream(1));
+			long a1 = bean.getThreadAllocatedBytes(thread);
+			algorithm.execute(problem, 2 * budget, new RandomStream(1));
+			long a2 = bean.getThreadAllocatedBytes(thread);
+
+			long single = a1 - a0;
+			long twice = a2 - a1;
+			System.out.println(algorithm.getID() + "\trun (B): " + single + " bytes\trun (2B): " + twice + " bytes\tsteady state: " + String.format("%.2f", (double) (twice - single) / budget) + " bytes/evaluation");
+		}
+	}
+}
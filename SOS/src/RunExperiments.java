@@ -34,12 +34,8 @@ public class RunExperiments
 		//experiments.add(new CEC15(50)); // Add an experiment scenario for the CEC 2015 benchmark, of problem dimensionality '50' (design variables)
 		//experiments.add(new CEC15(100)); // Add an experiment scenario for the CEC 2015 benchmark, of problem dimensionality '100' (design variables)
 		
-		for (Experiment experiment : experiments)
-		{
-			//experiment.setShowPValue(true);
-			experiment.startExperiment();
-			System.out.println();
-			experiment = null;
-		}
+		//for (Experiment experiment : experiments)
+			//experiment.showPValue(true);
+		Experiment.startExperiments(experiments); // Run the experiments together, on the same processors (tables are printed in the order above)
 	}
 }
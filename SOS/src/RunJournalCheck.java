@@ -0,0 +1,112 @@
+/** @file RunJournalCheck.java
+ *
+ *  Resume of an interrupted experiment from its journal, in a new JVM.
+*/
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.InputStreamReader;
+import java.util.Vector;
+
+import algorithms.S;
+import benchmarks.BaseFunctions;
+import interfaces.Algorithm;
+import interfaces.Experiment;
+import utils.RunAndStore;
+import utils.RunJournal;
+
+/**
+ * Check of the journal of the experiments (see Experiment.setJournal).
+ * A small experiment (no seed set, as the experiments in src/experiments, resuming requested) is run in a new JVM with half of its runs,
+ * as if it had been interrupted, then in another JVM with all of them, and then once more: the second JVM must execute the missing runs only,
+ * the third one nothing. A fourth JVM changes a parameter of the algorithm, hence it must execute all the runs again, and a fifth one
+ * does not request resuming, hence it must not touch the journal.
+ * The check fails (exit status 1) if the journal does not hold exactly one record per run.
+ *
+ * Usage: java RunJournalCheck (the experiment is saved in results/journalCheck, deleted at the beginning)
+ */
+public class RunJournalCheck
+{
+	private static final String FOLDER = "journalCheck";
+	private static final int RUNS = 6;
+
+	public static void main(String[] args) throws Exception
+	{
+		if (args.length > 0)
+		{
+			experiment(Integer.parseInt(args[0]), Double.parseDouble(args[1]), Boolean.parseBoolean(args[2]));
+			return;
+		}
+
+		File folder = new File("results", FOLDER);
+		delete(folder);
+		int nrProblems = 2;
+		boolean ok = true;
+		int[] nrRuns = {RUNS / 2, RUNS, RUNS, RUNS, RUNS};
+		double[] p0 = {0.4, 0.4, 0.4, 0.5, 0.6};
+		boolean[] resume = {true, true, true, true, false};
+		int[] expected = {nrProblems * RUNS / 2, nrProblems * RUNS, nrProblems * RUNS, 2 * nrProblems * RUNS, 2 * nrProblems * RUNS};
+		long[] length = new long[nrRuns.length];
+		for (int i = 0; i < nrRuns.length; i++)
+		{
+			execute(nrRuns[i], p0[i], resume[i]);
+			length[i] = new File(folder, "journal.bin").length();
+			RunJournal journal = new RunJournal(new File(folder, "journal").getPath());
+			System.out.println("JVM " + (i + 1) + ": " + nrRuns[i] + " runs per problem (p0 " + p0[i] + (resume[i] ? ", resuming" : "") + "), "
+					+ journal.size() + " runs in the journal (" + length[i] + " bytes), expected " + expected[i]);
+			ok &= (journal.size() == expected[i]);
+			journal.close();
+		}
+		ok &= (length[2] == length[1]); // nothing appended by the third JVM
+		ok &= (length[4] == length[3]); // nor by the last one (journal disabled)
+		System.out.println(ok ? "Journal check passed." : "Journal check FAILED.");
+		System.exit(ok ? 0 : 1);
+	}
+
+	/**
+	 * The experiment, with the given number of runs and parameter of S (executed in the JVM started by execute).
+	 */
+	private static void experiment(int nrRuns, double p0, boolean resume) throws Exception
+	{
+		RunAndStore.resultsFolder();
+		Experiment experiment = new Experiment(10, 200, FOLDER, false, false) {};
+		experiment.setNrRuns(nrRuns);
+		experiment.setJournal(resume);
+		Algorithm algorithm = new S();
+		algorithm.setParameter("p0", p0);
+		experiment.add(algorithm);
+		experiment.add(new BaseFunctions.Sphere(10));
+		experiment.add(new BaseFunctions.Rastrigin(10));
+		experiment.startExperiment();
+	}
+
+	/**
+	 * Run the experiment in a new JVM (same Java and class path of this one).
+	 */
+	private static void execute(int nrRuns, double p0, boolean resume) throws Exception
+	{
+		Vector<String> command = new Vector<String>();
+		command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+		command.add("-cp");
+		command.add(System.getProperty("java.class.path"));
+		command.add(RunJournalCheck.class.getName());
+		command.add(Integer.toString(nrRuns));
+		command.add(Double.toString(p0));
+		command.add(Boolean.toString(resume));
+		Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+		BufferedReader output = new BufferedReader(new InputStreamReader(process.getInputStream()));
+		String line;
+		while ((line = output.readLine()) != null)
+			System.out.println("\t" + line);
+		if (process.waitFor() != 0)
+			throw new Exception("the experiment failed (exit status " + process.exitValue() + ")");
+	}
+
+	private static void delete(File file)
+	{
+		File[] files = file.listFiles();
+		if (files != null)
+			for (File f : files)
+				delete(f);
+		file.delete();
+	}
+}
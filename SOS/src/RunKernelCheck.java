@@ -0,0 +1,108 @@
+/** @file RunKernelCheck.java
+ *
+ *  Agreement between the vectorised kernels and the scalar code of the benchmark functions.
+*/
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.InputStreamReader;
+import java.util.Vector;
+
+import benchmarks.BaseFunctions;
+import benchmarks.CEC2014;
+import benchmarks.problemsImplementation.Kernels;
+import interfaces.Problem;
+import utils.random.RandomStream;
+
+/**
+ * Check of the vectorised (SIMD) kernels.
+ * The functions using them (BaseFunctions and the shift and rotation of CEC2014) are evaluated on the same random points by this JVM,
+ * with the kernels enabled, and by a new JVM without them, i.e. by their scalar code; the largest relative error of each function is printed
+ * and the check fails (exit status 1) if it exceeds the tolerance.
+ *
+ * Usage: java --add-modules jdk.incubator.vector -Dsos.simd=true RunKernelCheck [tolerance]
+ */
+public class RunKernelCheck
+{
+	private static final String[] BASE = {"Ackley", "Alpine", "Michalewicz", "Rastrigin", "Schwefel", "Sphere"};
+	private static final int[] BASE_DIMENSIONS = {2, 10, 13, 30, 50, 100};
+	private static final int[] CEC_DIMENSIONS = {10, 30, 50, 100};
+	private static final int POINTS = 200;
+
+	public static void main(String[] args) throws Exception
+	{
+		if (args.length > 0 && args[0].equals("scalar"))
+		{
+			// values computed by the scalar code (new JVM started by main)
+			for (Problem problem : problems())
+				for (double[] x : points(problem))
+					System.out.println(Long.toHexString(Double.doubleToRawLongBits(problem.f(x))));
+			return;
+		}
+
+		double tolerance = (args.length > 0) ? Double.parseDouble(args[0]) : 1e-12;
+		if (Kernels.VECTOR == null)
+		{
+			System.out.println("Vectorised kernels are not enabled (run with --add-modules jdk.incubator.vector -Dsos.simd=true).");
+			System.exit(1);
+		}
+
+		BufferedReader scalar = scalar();
+		double worst = 0;
+		for (Problem problem : problems())
+		{
+			double error = 0;
+			for (double[] x : points(problem))
+			{
+				double a = problem.f(x);
+				double b = Double.longBitsToDouble(Long.parseUnsignedLong(scalar.readLine(), 16));
+				error = Math.max(error, Math.abs(a - b) / Math.max(Math.abs(b), 1.0));
+			}
+			System.out.println(problem.getClass().getSimpleName() + problem.getFID() + "\tD = " + problem.getDimension() + "\t" + error);
+			worst = Math.max(worst, error);
+		}
+		scalar.close();
+		System.out.println("Largest relative error: " + worst + " (tolerance " + tolerance + ")");
+		System.exit(worst <= tolerance ? 0 : 1);
+	}
+
+	private static Vector<Problem> problems() throws Exception
+	{
+		Vector<Problem> problems = new Vector<Problem>();
+		for (int n : BASE_DIMENSIONS)
+			for (String name : BASE)
+				problems.add((Problem) Class.forName(BaseFunctions.class.getName() + "$" + name).getConstructor(int.class).newInstance(n));
+		for (int n : CEC_DIMENSIONS)
+			for (int f = 1; f <= 30; f++)
+				problems.add(new CEC2014(n, f));
+		return problems;
+	}
+
+	/**
+	 * Random points of the search space of a problem (the same in every JVM).
+	 */
+	private static double[][] points(Problem problem)
+	{
+		RandomStream rng = new RandomStream(problem.getDimension());
+		double[][] bounds = problem.getBounds();
+		double[][] points = new double[POINTS][problem.getDimension()];
+		for (double[] x : points)
+			for (int j = 0; j < x.length; j++)
+				x[j] = rng.uniform(bounds[j][0], bounds[j][1]);
+		return points;
+	}
+
+	/**
+	 * Output of a new JVM (same Java and class path of this one, kernels disabled) evaluating the same points.
+	 */
+	private static BufferedReader scalar() throws Exception
+	{
+		Vector<String> command = new Vector<String>();
+		command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+		command.add("-cp");
+		command.add(System.getProperty("java.class.path"));
+		command.add(RunKernelCheck.class.getName());
+		command.add("scalar");
+		Process process = new ProcessBuilder(command).redirectError(ProcessBuilder.Redirect.INHERIT).start();
+		return new BufferedReader(new InputStreamReader(process.getInputStream()));
+	}
+}
@@ -0,0 +1,39 @@
+/** @file RunTrendExport.java
+ *
+ *  Conversion of the binary fitness trends of an experiment into text files.
+*/
+import java.io.File;
+
+import utils.TrendStore;
+
+/**
+ * Export of the binary trend store of an experiment (see Experiment.setBinaryTrends) into the text files of the runs,
+ * i.e. experiment folder/algorithm ID/problem name/run.txt, as saved by experiments without binary trends (and read by the R scripts).
+ *
+ * Usage: java RunTrendExport [experiment folder] [output folder]
+ * e.g. java RunTrendExport results/CEC14_10D (the text files are written in the experiment folder by default).
+ */
+public class RunTrendExport
+{
+	public static void main(String[] args) throws Exception
+	{
+		if (args.length < 1)
+		{
+			System.out.println("Usage: java RunTrendExport [experiment folder] [output folder]");
+			System.exit(1);
+		}
+		String folder = args[0];
+		String output = (args.length > 1) ? args[1] : folder;
+		if (!new File(folder, "trends.bin").exists())
+		{
+			System.out.println("No binary trends in " + folder);
+			System.exit(1);
+		}
+
+		TrendStore store = new TrendStore(folder + File.separator + "trends");
+		long t0 = System.currentTimeMillis();
+		store.exportText(output);
+		System.out.println(store.size() + " runs exported to " + output + " in " + (System.currentTimeMillis() - t0) + " ms.");
+		store.close();
+	}
+}
@@ -4,9 +4,9 @@ package algorithms;
 import interfaces.Algorithm;
 import interfaces.Problem;
 import utils.RunAndStore.FTrend;
+import utils.algorithms.Bounds;
 import utils.algorithms.cmaes.CMAEvolutionStrategy;
 
-import static utils.algorithms.Misc.saturate;
 import static utils.algorithms.Misc.generateRandomSolution; //WARNING:  this method is incomplete and will affect the search. You will have to complete in Task 2
 
 
@@ -21,6 +21,7 @@ public class CMAES extends Algorithm
 		FTrend FT = new FTrend(); //Use this object to store solutions
 		int problemDimension = problem.getDimension();
 		double[][] bounds = problem.getBounds();
+		Bounds searchSpace = new Bounds(bounds); // bounds with precomputed ranges
 
 		double[] best = new double[problemDimension];
 		double fBest = Double.NaN;
@@ -56,14 +57,17 @@ public class CMAES extends Algorithm
 			// get a new population of solutions
 			double[][] pop = cma.samplePopulation();
 			
-			for(int i = 0; i < pop.length && j < maxEvaluations; ++i)
+			int lambda = Math.min(pop.length, maxEvaluations - j); // solutions evaluated within the budget
+			
+			// saturate solutions on bounds
+			for(int i = 0; i < lambda; ++i)
+				searchSpace.saturate(pop[i]);
+			
+			// compute fitness/objective values of the whole population
+			problem.evaluateBatch(pop, 0, lambda, fitness);
+			
+			for(int i = 0; i < lambda; ++i)
 			{ 
-				// saturate solution on bounds 
-				pop[i] = saturate(pop[i], bounds);
-				
-				// compute fitness/objective value	
-				fitness[i] = problem.f(pop[i]);
-				
 				// save best
 				if (fitness[i] < fBest)
 				{
@@ -3,10 +3,14 @@ package algorithms;
 import static utils.algorithms.Misc.generateRandomSolution;
 
 import utils.random.RandUtils;
+import utils.random.IndexSampler;
+import utils.random.RandomStream;
 import interfaces.Algorithm;
 import interfaces.Problem;
 import utils.RunAndStore.FTrend;
-import static utils.algorithms.Misc.toro;
+import utils.algorithms.Bounds;
+import utils.algorithms.ConvergenceDetector;
+import utils.algorithms.Population;
 
 /**
  * Differential Evolution (original variant - rand/1/bin)
@@ -20,40 +24,34 @@ public class DE extends Algorithm // This class implements the algorithm. Every
 		FTrend FT = new FTrend(); // Create a fitness trend instance
 		int problemDimension = problem.getDimension(); // Store the dimensionality of the problem domain
 		double[][] bounds = problem.getBounds(); // Store the bounds of each variable in the problem domain
+		Bounds searchSpace = new Bounds(bounds); // Store the bounds with their ranges precomputed (corrections within the search space)
 		
 		double[] best = new double[problemDimension]; // Initialise the best known solution variable
 		double fBest = Double.NaN; // Initialise the fitness value, i.e. "f(x)", of the best solution known
 		int k = 0; // Initialise the incremental counter variable
+		RandomStream rng = RandUtils.getStream(); // Random number stream of this run
 		
 		int populationSize 	 = getParameter("p0").intValue(); // Initialise the population size 
 		double scalingFactor = getParameter("p1").doubleValue(); // Initialise the scaling factor of the mutation operator
 		double crossoverRate = getParameter("p2").doubleValue(); // Initialise the crossover rate of the binomial crossover operator
 		
-		double[][] population = new double[populationSize][problemDimension]; // Initialise the population of individuals (solutions) variable
-		double[] solutionFitness = new double[populationSize]; // Initialise the fitness of a solution (individual) variable
+		Population population = new Population(populationSize, problemDimension); // Initialise the population of individuals (solutions), stored contiguously together with their fitness values
 		
 		// Evaluate initial population of individuals
 		for (int i = 0; i < populationSize; i++) // For the size of the population of individuals (solutions), do the following
 		{
 			double[] initialSolution = generateRandomSolution(bounds, problemDimension); // Generate the initial solution (guess)
-			
-			for (int j = 0; j < problemDimension; j++) // For the dimensionality of the problem, do the following
-			{
-				population[i][j] = initialSolution[j]; // Initialise the iterated solution (individual) that comprises the population, to the initial solution randomly generated 
-			}
-			
-			solutionFitness[i] = problem.f(population[i]); // Calculate and store the fitness (value) of the iterated solution (individual)
+			double initialFitness = problem.f(initialSolution); // Calculate the fitness (value) of the iterated solution (individual)
 			k++; // Increment the counter to near the computational budget		
 			
-			if (i == 0 || solutionFitness[i] < fBest) // If the solution generated is the first solution in the population or the fitness of the solution is better than the fitness of the best known solution, do the following
+			population.setRow(i, initialSolution, initialFitness); // Store the iterated solution (individual) and its fitness (value) in the population
+			
+			if (i == 0 || initialFitness < fBest) // If the solution generated is the first solution in the population or the fitness of the solution is better than the fitness of the best known solution, do the following
 			{
-				fBest = solutionFitness[i]; // Store the iterated solutions (individuals) fitness (value) as the best known solution
+				fBest = initialFitness; // Store the iterated solutions (individuals) fitness (value) as the best known solution
 				//FT.add(k, fBest); // Add the best solution found in this iteration to the fitness trend (saved to a .txt file)
 				
-				for (int j = 0; j < problemDimension; j++) // For the dimensionality of the problem, do the following
-				{
-					best[j] = population[i][j]; // Update the best solution to the points comprising the iterated solution (individual) in the population
-				}
+				population.getRow(i, best); // Update the best solution to the points comprising the iterated solution (individual) in the population
 			}
 			
 			if (i == 0 || k % 100 == 0) // If the iterated individual in the population is first individual in the population or the current iteration is divisible by '100' and has no remainder, do the following
@@ -62,55 +60,45 @@ public class DE extends Algorithm // This class implements the algorithm. Every
 			}
 		}
 
+		// Buffers reused at every generation (the main loop does not allocate memory)
+		Population nextGeneration = new Population(populationSize, problemDimension); // Initialise the next generation of individuals (swapped with the population at the end of each generation)
+		double[] mutantIndividual = new double[problemDimension]; // Initialise the mutated individual variable
+		double[][] crossoverIndividuals = new double[populationSize][problemDimension]; // Initialise the offspring of the generation (evaluated together, as a batch)
+		double[] crossoverFitness = new double[populationSize]; // Initialise the fitness (values) of the offspring of the generation
+		IndexSampler indexSampler = new IndexSampler(populationSize); // Initialise the sampler of distinct individuals used by the mutation operator
+		int[] randomPoints = new int[3]; // Initialise the indices of the individuals combined by the mutation operator
+		
 		// Main loop
 		while (k < maxEvaluations) // While the computational budget has not been met, do the following
 		{
-			double[][] nextGeneration = new double[populationSize][problemDimension]; // Reinitialise the next generation of individuals representing the population variable
+			int offspringNumber = Math.min(populationSize, maxEvaluations - k); // Number of offspring generated in this generation (within the computational budget)
 			
-			for (int j = 0; j < populationSize && k < maxEvaluations; j++) // For the size of the population of individuals (solutions) and whilst within the computational budget, do the following
+			for (int j = 0; j < offspringNumber; j++) // For the offspring of the generation, do the following (the population does not change during a generation, hence all the offspring can be generated before being evaluated)
 			{
-				int fitnessTrendPopulated = 0; // Initialise the fitness trend populated variable
-				
-				double[] mutantIndividual 	  = new double[problemDimension]; // Reinitialise the mutated individuals variable
-				double[] crossoverIndividual  = new double[problemDimension]; // Reinitialise the offspring variable
-				double[] populationIndividual = new double[problemDimension]; // Reinitialise the individual (solution) comprising the population variable 
-				
-				double currentFitness 	= Double.NaN; // Reinitialise the fitness of the current solution (individual)
-				double crossoverFitness = Double.NaN; // Reinitialise the fitness of the offspring solution (individual)
-				
-				for (int l = 0; l < problemDimension; l++) // For the dimensionality of the problem, do the following
-				{
-					populationIndividual[l] = population[j][l]; // Initialise the individual (solution) in the population to the iterated individual in the population
-				}
-				
-				currentFitness = solutionFitness[j]; // Set the current fitness (value) to the fitness of the current individual (solution)
-			
 				// DE/rand/1 mutation operator
-				mutantIndividual = originalMutation(population, scalingFactor, problemDimension); // Function call, mutate the population of individuals to obtain a new mutated individual
-				//mutantIndividual = toro(mutantIndividual, bounds); // Correct the mutated individual (solution) that may exist out of the bounds of the search space (problem domain)
+				population.randOneMutation(scalingFactor, rng, indexSampler, randomPoints, mutantIndividual); // Mutate the population of individuals to obtain a new mutated individual
+				//searchSpace.toro(mutantIndividual); // Correct the mutated individual (solution) that may exist out of the bounds of the search space (problem domain)
 				
 				// Binomial crossover operator
-				crossoverIndividual = binomialCrossover(populationIndividual, mutantIndividual, crossoverRate, problemDimension); // Function call, crossover the current individual and the mutated individual, binomially (recombination)
-				crossoverIndividual = toro(crossoverIndividual, bounds); // Correct the offspring individual (solution) that may exist out of the bounds of the search space (problem domain)
-				
-				crossoverFitness = problem.f(crossoverIndividual); // Calculate and store the fitness (value) of the offspring solution (individual)
+				population.binomialCrossover(j, mutantIndividual, crossoverRate, rng, crossoverIndividuals[j]); // Crossover the current individual and the mutated individual, binomially (recombination)
+				searchSpace.toro(crossoverIndividuals[j]); // Correct the offspring individual (solution) that may exist out of the bounds of the search space (problem domain)
+			}
+			
+			problem.evaluateBatch(crossoverIndividuals, 0, offspringNumber, crossoverFitness); // Calculate and store the fitness (values) of the offspring solutions (individuals)
+			
+			for (int j = 0; j < offspringNumber; j++) // For the offspring of the generation, do the following
+			{
+				int fitnessTrendPopulated = 0; // Initialise the fitness trend populated variable
+				double[] crossoverIndividual = crossoverIndividuals[j]; // The iterated offspring individual (solution)
 				k++; // Increment the counter to near the computational budget
 
-				// Replace the original individual in the population
-				if (crossoverFitness < currentFitness) // If the offspring individual is fitter than the original individual in the population, do the following
+				// Survivor selection (1-to-1 spawning): the offspring replaces the original individual in the next generation if it is fitter, otherwise the original individual is kept
+				if (population.select(nextGeneration, j, crossoverIndividual, crossoverFitness[j]))
 				{
-					for (int l = 0; l < problemDimension; l++) // For the dimensionality of the problem, do the following
-					{
-						// Survivor selection (1-to-1 spawning)
-						nextGeneration[j][l] = crossoverIndividual[l]; // Replace the original individual (solution) in the population with the offspring individual (solution)
-					}
-						
-					solutionFitness[j] = crossoverFitness; // Update the fitness of the individual (solution) to the fitness of the offspring individual (solution)
-					
 					// Update the best known solution
-					if (crossoverFitness < fBest) // If the offspring individual (solution) is fitter than the best known individual (solution), do the following
+					if (crossoverFitness[j] < fBest) // If the offspring individual (solution) is fitter than the best known individual (solution), do the following
 					{
-						fBest = crossoverFitness; // Update the fitness (value) of the best known solution to the fitness (value) of the offspring individual (solution)
+						fBest = crossoverFitness[j]; // Update the fitness (value) of the best known solution to the fitness (value) of the offspring individual (solution)
 						//FT.add(k, fBest); // Add the best solution found in this iteration to the fitness trend (saved to a .txt file)
 						
 						if (k % 100 == 0 && fitnessTrendPopulated != k) // If the current iteration is divisible by '100' and has no remainder whilst the fitness trend has not been populated for the current iteration, do the following
@@ -125,15 +113,6 @@ public class DE extends Algorithm // This class implements the algorithm. Every
 						}
 					}
 				}
-				else // Else if the crossover individual is not fitter than the original individual in the population, do the following
-				{
-					for (int l = 0; l < problemDimension; l++) // For the dimensionality of the problem, do the following
-					{
-						nextGeneration[j][l] = populationIndividual[l]; // Restore the design variables (genes) of the original individual (solution) as the updated individual (solution)
-					}
-						
-					solutionFitness[j] = currentFitness; // Restore the fitness (value) of the solution to the fitness (value) of the iterated individual (solution)
-				}
 				
 				if (k % 100 == 0 && fitnessTrendPopulated != k) // If the current iteration is divisible by '100' and has no remainder whilst the fitness trend has not been populated for the current iteration, do the following
 				{
@@ -142,8 +121,46 @@ public class DE extends Algorithm // This class implements the algorithm. Every
 				}
 			}
 			
-			// Survivor selection (1-to-1 spawning)
+			Population previousGeneration = population; // Store the current population of individuals, its memory is reused for the following generation
 			population = nextGeneration; // Update the current population of individuals to the next generation of fitter individuals
+			nextGeneration = previousGeneration; // The next generation will overwrite the previous population
+			
+			// Convergence detection (optional)
+			if (convergenceDetector != null && k < maxEvaluations && convergenceDetector.converged(k, fBest, population, bounds)) // If the population has collapsed (or the search has stagnated), do the following
+			{
+				if (convergenceDetector.getPolicy() == ConvergenceDetector.Policy.STOP) // If the run has to be stopped, do the following
+				{
+					convergenceDetector.stop(k, maxEvaluations); // Record the evaluations saved
+					break; // Stop the run, the final best is stored below
+				}
+				
+				// Restart: the best known individual is kept, the rest of the population is replaced by random solutions
+				int restartNumber = Math.min(populationSize - 1, maxEvaluations - k); // Number of random individuals (within the computational budget)
+				for (int j = 0; j < restartNumber; j++) // For the individuals replaced, do the following
+				{
+					generateRandomSolution(bounds, problemDimension, crossoverIndividuals[j]); // Generate a random solution (individual)
+				}
+				problem.evaluateBatch(crossoverIndividuals, 0, restartNumber, crossoverFitness); // Calculate and store the fitness (values) of the random solutions (individuals)
+				
+				population.setRow(0, best, fBest); // Keep the best known solution (individual) as the first individual of the population
+				for (int j = 0; j < restartNumber; j++) // For the individuals replaced, do the following
+				{
+					k++; // Increment the counter to near the computational budget
+					population.setRow(j + 1, crossoverIndividuals[j], crossoverFitness[j]); // Store the random solution (individual) and its fitness (value) in the population
+					
+					if (crossoverFitness[j] < fBest) // If the random solution is fitter than the best known solution, do the following
+					{
+						fBest = crossoverFitness[j]; // Update the fitness (value) of the best known solution
+						population.getRow(j + 1, best); // Update the best known solution
+					}
+					
+					if (k % 100 == 0) // If the current iteration is divisible by '100' and has no remainder, do the following
+					{
+						FT.add(k, fBest); // Add the best solution found in this iteration to the fitness trend (saved to a .txt file)
+					}
+				}
+				convergenceDetector.restarted(k); // Record the restart
+			}
 		}
 		
 		finalBest = best; // Store the final iteration of the best known solution
@@ -151,70 +168,4 @@ public class DE extends Algorithm // This class implements the algorithm. Every
 
 		return FT; // Return the fitness trend
 	}
-	
-	/**
-	* DE/rand/1 mutation operator
-	* 
-	* @param population pool of solutions (individuals)
-	* @param scalingFactor scale factor of mutation
-	* @param problemDimensionality dimensionality of the problem domain
-	* @return mutantIndividuals mutated individual
-	*/
-	public static double[] originalMutation(double[][] population, double scalingFactor, int problemDimensionality)
-	{
-		int problemDimension = problemDimensionality; // Store the dimensionality of the problem domain
-		int populationSize = population.length; // Store the size of the population of individuals (solutions)
-	
-		int[] randomPermutation = new int[populationSize]; // Initialise the random permutation variable
-		
-		for (int i = 0; i < populationSize; i++) // For the size of the population of individuals (solutions), do the following
-		{
-			randomPermutation[i] = i; // Store the increment counter at each index of the random permutation variable (array: 0, 1, 2, 3...)
-		}
-		
-		randomPermutation = RandUtils.randomPermutation(randomPermutation); // Permute the order of the elements contained within the random permutation variable
-	
-		int randomPointOne 	 = randomPermutation[0]; // Store the first element of the randomly permuted sequence of elements
-		int randomPointTwo   = randomPermutation[1]; // Store the second element of the randomly permuted sequence of elements
-		int randomPointThree = randomPermutation[2]; // Store the third element of the randomly permuted sequence of elements
-	
-		double[] mutantIndividual = new double[problemDimension]; // Initialise the mutated individual (solution) variable
-		
-		for (int i = 0; i < problemDimension; i++) // For the dimensionality of the problem, do the following
-		{
-			mutantIndividual[i] = population[randomPointOne][i] + scalingFactor * (population[randomPointTwo][i] - population[randomPointThree][i]); // Linearly combine the randomly selected points in the population, to move the individual (solution) to a new promising area in the problem domain
-		}
-	
-		return mutantIndividual; // Return the mutated individual
-	}
-	
-	/**
-	* Binomial crossover operator
-	* 
-	* @param populationIndividual original parent solution
-	* @param mutantIndividual mutated parent solution
-	* @param crossoverRate crossover rate
-	* @return offspringSolution offspring solution
-	*/
-	public static double[] binomialCrossover(double[] populationIndividual, double[] mutantIndividual, double crossoverRate, int problemDimensionality)
-	{
-		int problemDimension = problemDimensionality; // Store the dimensionality of the problem domain
-		int randomIndex = RandUtils.randomInteger(problemDimension - 1); // Generate a random index sampled from the range of [0, 1]
-		
-		double[] offspringSolution = new double[problemDimension]; // Initialise the offspring solution variable
-		
-		for (int i = 0; i < problemDimension; i++) // For the dimensionality of the problem, do the following
-		{
-			if (RandUtils.random() < crossoverRate || i == randomIndex) // If the randomly generated number (within the range of [0, 1]) is smaller than the crossover rate or the increment counter is equal to the randomly generated index, do the following
-			{
-				offspringSolution[i] = mutantIndividual[i]; // Set the iterated design variable of the offspring solution (individual) to the iterated design variable of the mutated individual (solution)
-			}
-			else // Else if the randomly generated number is not smaller than the crossover rate or the increment counter is not equal to the randomly generated index, do the following
-			{
-				offspringSolution[i] = populationIndividual[i]; // Set the iterated design variable of the offspring solution to the iterated design variable of the original individual (solution)
-			}
-		}
-			
-		return offspringSolution; // Return the offspring solution
-	}
 }
\ No newline at end of file
@@ -5,7 +5,9 @@ import static utils.MatLab.max;
 import static utils.MatLab.min;
 
 import utils.random.RandUtils;
+import utils.random.RandomStream;
 import interfaces.Algorithm;
+import interfaces.IncrementalProblem;
 import interfaces.Problem;
 import utils.RunAndStore.FTrend;
 /**
@@ -34,6 +36,7 @@ public class ISPO extends Algorithm //This class implements the algorithm. Every
 		double[] particle = new double[problemDimension];
 		double fParticle; //fitness value, i.e. "f(x)"
 		int i = 0;
+		RandomStream rng = RandUtils.getStream(); // random number stream of this run
 		// initial solution
 		if (initialSolution != null)
 		{
@@ -46,6 +49,8 @@ public class ISPO extends Algorithm //This class implements the algorithm. Every
 			fParticle = problem.f(particle);
 			i++;
 		}
+		// incremental evaluator of single-variable moves (separable problems only)
+		IncrementalProblem.Delta delta = (problem instanceof IncrementalProblem) ? ((IncrementalProblem) problem).delta(particle) : null;
 		//store the initial guess
 		FT.add(0, fParticle);
 
@@ -72,14 +77,14 @@ public class ISPO extends Algorithm //This class implements the algorithm. Every
 					posOld = particle[j];
 
 					// calculate velocity
-					velocity = A/Math.pow(k+1,P)*(-0.5+RandUtils.random())+B*L;
+					velocity = A/Math.pow(k+1,P)*(-0.5+rng.random())+B*L;
 
 					// calculate new position
 					particle[j] += velocity;
 					particle[j] = min(max(particle[j], bounds[j][0]), bounds[j][1]);
 
 					// calculate new fitness
-					fParticle = problem.f(particle);
+					fParticle = (delta != null) ? delta.fDelta(particle, j, particle[j]) : problem.f(particle);
 					i++;//iteration counter has to be incremented
 
 					// estimate performance
@@ -98,6 +103,9 @@ public class ISPO extends Algorithm //This class implements the algorithm. Every
 					{
 						// use current velocity as learning factor
 						L = velocity;
+						// update the terms of the particle
+						if (delta != null)
+							delta.accept(particle, j, particle[j]);
 						
 						FT.add(i, fParticle); // Added this <-------
 					}
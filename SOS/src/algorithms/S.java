@@ -4,9 +4,11 @@ import static utils.algorithms.Misc.generateRandomSolution;
 
 import utils.random.RandUtils;
 import interfaces.Algorithm;
+import interfaces.IncrementalProblem;
 import interfaces.Problem;
 import utils.RunAndStore.FTrend;
-import static utils.algorithms.Misc.toro;
+import utils.algorithms.Bounds;
+import utils.algorithms.ConvergenceDetector;
 
 /**
  * Short Distance Exploration
@@ -44,7 +46,9 @@ public class S extends Algorithm // This class implements the algorithm. Every a
 
 		double fShort = fBest; // Initialise the fitness value, i.e. "f(x)", of the trial solution
 		
-		double[] xShort = xBest; // Initialise the trial solution variable
+		double[] xShort = xBest.clone(); // Initialise the trial solution variable (apart from the best known solution, only the perturbed variable changes)
+		Bounds searchSpace = new Bounds(bounds); // Initialise the bounds of the search space (ranges precomputed for the corrections of single variables)
+		IncrementalProblem.Delta delta = (problem instanceof IncrementalProblem) ? ((IncrementalProblem) problem).delta(xBest) : null; // Initialise the incremental evaluator of single-variable moves (separable problems only)
 		double[] exploratoryRadius = new double[problemDimension]; // Initialise the exploratory radius variable for the Short Distance Exploration (S) algorithm
 		
 		for (int i = 0; i < problemDimension; i++) // For the dimensionality of the problem, do the following
@@ -61,15 +65,15 @@ public class S extends Algorithm // This class implements the algorithm. Every a
 			{
 				int fitnessTrendPopulated = 0; // Initialise the fitness trend populated variable
 				
-				xShort[i] = xBest[i] - exploratoryRadius[i]; // Perturb the currently iterated variable in the problem domain, negatively, along the corresponding axis (exclusively) 
-				xShort = toro(xShort, bounds); // Correct the trial solution that may exist out of the bounds of the search space (problem domain)
-				
-				fShort = problem.f(xShort); // Calculate the new fitness value of the trial solution
+				xShort[i] = searchSpace.toro(xBest[i] - exploratoryRadius[i], i); // Perturb the currently iterated variable in the problem domain, negatively, along the corresponding axis (exclusively), corrected within the bounds of the search space
+				fShort = (delta != null) ? delta.fDelta(xBest, i, xShort[i]) : problem.f(xShort); // Calculate the new fitness value of the trial solution (incrementally, from the terms of the best known solution, if possible)
 				k++; // Increment the counter to near the computational budget
 				
 				if (fShort <= fBest) // If the trial solution is an improvement or equivalent to the best known solution, do the following
 				{
 					xBest[i] = xShort[i]; // Update the best known solution to the current trial solution (one variable perturbed at each iteration)
+					if (delta != null) // If the moves are evaluated incrementally, do the following
+						delta.accept(xBest, i, xShort[i]); // Update the terms of the best known solution
 					
 					fBest = fShort; // Store the fitness value of the improved trial solution
 					//FT.add(k, fBest); // Add the best solution found in this iteration to the fitness trend (saved to a .txt file)
@@ -90,15 +94,15 @@ public class S extends Algorithm // This class implements the algorithm. Every a
 						fitnessTrendPopulated = k; // The fitness trend has been populated for the current iteration
 					}
 					
-					xShort[i] = xBest[i] + (exploratoryRadius[i] / 2); // Perturb the currently iterated variable in the problem domain, positively (half-step), along the corresponding axis (exclusively) 
-					xShort = toro(xShort, bounds); // Correct the trial solution that may exist out of the bounds of the search space (problem domain)
-					
-					fShort = problem.f(xShort); // Calculate the new fitness value of the trial solution
+					xShort[i] = searchSpace.toro(xBest[i] + (exploratoryRadius[i] / 2), i); // Perturb the currently iterated variable in the problem domain, positively (half-step), along the corresponding axis (exclusively), corrected within the bounds of the search space
+					fShort = (delta != null) ? delta.fDelta(xBest, i, xShort[i]) : problem.f(xShort); // Calculate the new fitness value of the trial solution (incrementally, from the terms of the best known solution, if possible)
 					k++; // Increment the counter to near the computational budget
 					
 					if (fShort <= fBest) // If the trial solution is an improvement or equivalent to the best known solution, do the following
 					{
 						xBest[i] = xShort[i]; // Update the best known solution to the current trial solution (one variable perturbed at each iteration)
+						if (delta != null) // If the moves are evaluated incrementally, do the following
+							delta.accept(xBest, i, xShort[i]); // Update the terms of the best known solution
 						
 						fBest = fShort; // Store the fitness value of the improved trial solution
 						//FT.add(k, fBest); // Add the best solution found in this iteration to the fitness trend (saved to a .txt file)
@@ -131,6 +135,22 @@ public class S extends Algorithm // This class implements the algorithm. Every a
 					exploratoryRadius[i] = exploratoryRadius[i] / 2; // Store the exploratory radius for each variable in the problem domain to itself, halved (closer search from initial solution in case the initial guess is the optimum)
 				}
 			}
+			
+			// Convergence detection (optional)
+			if (convergenceDetector != null && k < maxEvaluations && convergenceDetector.converged(k, fBest, xBest, exploratoryRadius)) // If the exploratory radius no longer moves the best known solution (or the search has stagnated), do the following
+			{
+				if (convergenceDetector.getPolicy() == ConvergenceDetector.Policy.STOP) // If the run has to be stopped, do the following
+				{
+					convergenceDetector.stop(k, maxEvaluations); // Record the evaluations saved
+					break; // Stop the run, the final best is stored below
+				}
+				
+				for (int i = 0; i < problemDimension; i++) // For the dimensionality of the problem, do the following (restart)
+				{
+					exploratoryRadius[i] = alpha * (bounds[i][1] - bounds[i][0]); // Reset the exploratory radius for each variable in the problem domain
+				}
+				convergenceDetector.restarted(k); // Record the restart
+			}
 		}
 		
 		finalBest = xBest; // Store the final iteration of the best known solution
@@ -0,0 +1,105 @@
+package interfaces;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import utils.RunAndStore.FTrend;
+import utils.algorithms.ConvergenceDetector;
+import utils.random.RandUtils;
+import utils.random.RandomStream;
+
+/**
+ * Optimisation algorithm.
+ * Every algorithm has to implement the method "execute", which performs a run and returns its fitness trend.
+ */
+public abstract class Algorithm
+{
+	private Map<String, Double> parameters = new HashMap<String, Double>();
+	protected double[] initialSolution;
+	protected double[] finalBest;
+	protected double initialFitness;
+	protected String ID = null;
+	protected ConvergenceDetector convergenceDetector = null;
+
+	/**
+	 * Perform a run.
+	 *
+	 * @param problem problem to be optimised.
+	 * @param maxEvaluations computational budget (number of fitness evaluations).
+	 * @return fitness trend of the run.
+	 */
+	public abstract FTrend execute(Problem problem, int maxEvaluations) throws Exception;
+
+	/**
+	 * Perform a run drawing random numbers from the given stream.
+	 * The stream is bound to the calling thread for the whole run: it is returned by RandUtils.getStream() and used by the static methods of RandUtils.
+	 *
+	 * @param problem problem to be optimised.
+	 * @param maxEvaluations computational budget (number of fitness evaluations).
+	 * @param rng random number stream of this run.
+	 * @return fitness trend of the run.
+	 */
+	public FTrend execute(Problem problem, int maxEvaluations, RandomStream rng) throws Exception
+	{
+		RandUtils.setStream(rng);
+		if (convergenceDetector != null)
+			convergenceDetector.reset();
+		try
+		{
+			return execute(problem, maxEvaluations);
+		}
+		finally
+		{
+			RandUtils.setStream(null);
+		}
+	}
+
+	/**
+	 * New instance of the same algorithm with the same ID, parameters and initial solution.
+	 * Runs executed in parallel use separate copies, so that each of them has its own final best.
+	 */
+	public Algorithm copy() throws Exception
+	{
+		Algorithm algorithm = getClass().getDeclaredConstructor().newInstance();
+		algorithm.parameters.putAll(parameters);
+		algorithm.ID = ID;
+		algorithm.initialSolution = (initialSolution != null) ? initialSolution.clone() : null;
+		algorithm.initialFitness = initialFitness;
+		algorithm.convergenceDetector = (convergenceDetector != null) ? convergenceDetector.copy() : null;
+		return algorithm;
+	}
+
+	public void setParameter(String name, Double value) { parameters.put(name, value); }
+
+	public Double getParameter(String name) { return parameters.get(name); }
+
+	public double[] getFinalBest() { return finalBest; }
+
+	public void setFinalBest(double[] finalBest) { this.finalBest = finalBest; }
+
+	public void setInitialSolution(double[] initialSolution) { this.initialSolution = initialSolution; }
+
+	public void setInitialFitness(double initialFitness) { this.initialFitness = initialFitness; }
+
+	/**
+	 * Stop (or restart) runs that cannot make further progress (null, the default, for always using the whole budget).
+	 * Supported by S, SResetDelta, DE and jDES; other algorithms ignore it.
+	 */
+	public void setConvergenceDetector(ConvergenceDetector convergenceDetector) { this.convergenceDetector = convergenceDetector; }
+
+	public ConvergenceDetector getConvergenceDetector() { return convergenceDetector; }
+
+	public void setID() { ID = getClass().getSimpleName(); }
+
+	public void setID(String name) { ID = name; }
+
+	public String getID() { return ID; }
+
+	public String getParSetting()
+	{
+		String description = getID() + ":";
+		for (String name : parameters.keySet())
+			description += "(" + name + " " + getParameter(name) + ")";
+		return description;
+	}
+}
@@ -0,0 +1,682 @@
+package interfaces;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Vector;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import utils.OnlineStats;
+import utils.OnlineStats.RankSum;
+import utils.RunAndStore;
+import utils.RunAndStore.AlgorithmRepetitionThread;
+import utils.RunAndStore.AlgorithmResult;
+import utils.RunAndStore.RunTimes;
+import utils.RunJournal;
+import utils.TrendStore;
+import utils.algorithms.ConvergenceDetector;
+import utils.random.RandUtils;
+
+/**
+ * Experiment: a set of algorithms run (several times) on a set of problems.
+ */
+public abstract class Experiment
+{
+	private int nrRuns = 100;
+	private int budgetFactor = 5000;
+	private int problemDimension;
+	private Vector<Algorithm> algorithms = new Vector<Algorithm>();
+	private Vector<Problem> problems = new Vector<Problem>();
+	private String expFolder = ".";
+	private boolean saveRowData = true;
+	private boolean showPValue = false;
+	private int nrProc = Runtime.getRuntime().availableProcessors();
+	private long seed = RandUtils.getSeed();
+	private boolean seedSet = false; // seed given with setSeed (otherwise, when resuming from the journal, the seed of the journal is used)
+	private boolean parallelEvaluation = false;
+	private boolean journal = false;
+	private int trendResolution = 0;
+	private boolean binaryTrends = false;
+	private long liveInterval = 0;
+	private ConvergenceDetector convergenceDetector = null;
+	private int cacheSize = 0;
+	private PrintStream out = System.out; // output of the experiment (buffered while other experiments are displayed, see startExperiments)
+
+	public Experiment(String expFolder)
+	{
+		this.expFolder = expFolder;
+	}
+
+	public Experiment(int problemDimension, String expFolder)
+	{
+		this.problemDimension = problemDimension;
+		this.expFolder = expFolder;
+	}
+
+	public Experiment(int problemDimension, int budgetFactor, String expFolder)
+	{
+		this.problemDimension = problemDimension;
+		this.budgetFactor = budgetFactor;
+		this.expFolder = this.expFolder + RunAndStore.slash() + expFolder;
+	}
+
+	public Experiment(int problemDimension, int budgetFactor, String expFolder, boolean saveRowData, boolean showPValue)
+	{
+		this.problemDimension = problemDimension;
+		this.budgetFactor = budgetFactor;
+		this.expFolder = this.expFolder + RunAndStore.slash() + expFolder;
+		this.saveRowData = saveRowData;
+		this.showPValue = showPValue;
+	}
+
+	public void showPValue(boolean showPValue) { this.showPValue = showPValue; }
+
+	public void setNrRuns(int nrRuns) { this.nrRuns = nrRuns; }
+
+	public void setBudgetFactor(int budgetFactor) { this.budgetFactor = budgetFactor; }
+
+	public void setProbemDimension(int problemDimension) { this.problemDimension = problemDimension; }
+
+	/**
+	 * Seed of the experiment: the random number stream of each run is derived from (seed, algorithm ID, problem, run index),
+	 * hence results are reproducible regardless of the number of processors and of the order in which runs are executed.
+	 * By default it is the seed of RandUtils or, when the journal is enabled (see setJournal) and holds runs, the seed of the journal,
+	 * so that an experiment restarted in a new JVM (where RandUtils has a new seed) finds its runs in the journal.
+	 */
+	public void setSeed(long seed)
+	{
+		this.seed = seed;
+		this.seedSet = true;
+	}
+
+	public long getSeed() { return seed; }
+
+	/**
+	 * Intra-run parallelism: the batches of solutions evaluated by each run (e.g. the offspring of a DE generation) are split across
+	 * the threads of the experiment, which steal them when they have no runs left. Useful when fewer runs than processors are left; results do not change.
+	 */
+	public void setParallelEvaluation(boolean parallelEvaluation) { this.parallelEvaluation = parallelEvaluation; }
+
+	public boolean getParallelEvaluation() { return parallelEvaluation; }
+
+	/**
+	 * Checkpointing: completed runs are appended to "journal.bin" in the experiment folder, and runs already in the journal
+	 * (same algorithm ID, parameter setting, problem, run index, budget and seed) are not executed again when the experiment is restarted.
+	 * Unless set with setSeed, the seed of the experiment is taken from the journal. Disabled by default: the results of a run are taken
+	 * from the journal even if the code of the algorithm or of the problem has changed, hence resuming has to be requested explicitly.
+	 */
+	public void setJournal(boolean journal) { this.journal = journal; }
+
+	public boolean getJournal() { return journal; }
+
+	/**
+	 * Bounded fitness trends: only the given number of log-spaced checkpoints per decade of the evaluation counter is saved for each run
+	 * (0, the default, saves every improvement).
+	 */
+	public void setTrendResolution(int trendResolution) { this.trendResolution = trendResolution; }
+
+	public int getTrendResolution() { return trendResolution; }
+
+	/**
+	 * Save the fitness trends of all the runs in a single binary file ("trends.bin", indexed by "trends.idx") in the experiment folder,
+	 * instead of a text file per run. The text files can be produced afterwards with TrendStore.exportText (see RunTrendExport).
+	 */
+	public void setBinaryTrends(boolean binaryTrends) { this.binaryTrends = binaryTrends; }
+
+	public boolean getBinaryTrends() { return binaryTrends; }
+
+	/**
+	 * Print a partial table of the problems still in progress every given number of seconds (0, the default, for no partial tables).
+	 */
+	public void setLiveInterval(long seconds) { this.liveInterval = seconds; }
+
+	public long getLiveInterval() { return liveInterval; }
+
+	/**
+	 * Stop (or restart) the runs that cannot make further progress, see ConvergenceDetector (null, the default, for using the whole budget).
+	 * Each run gets its own copy of the detector; the evaluations saved are reported at the end of the experiment.
+	 */
+	public void setConvergenceDetector(ConvergenceDetector convergenceDetector) { this.convergenceDetector = convergenceDetector; }
+
+	public ConvergenceDetector getConvergenceDetector() { return convergenceDetector; }
+
+	/**
+	 * Memoise the fitness values of each run in a cache of the given number of points, see CachedProblem (0, the default, for no cache).
+	 * Results do not change; the fitness evaluations saved (cache hits) are reported at the end of the experiment.
+	 */
+	public void setCacheSize(int cacheSize) { this.cacheSize = cacheSize; }
+
+	public int getCacheSize() { return cacheSize; }
+
+	public int getNrRuns() { return nrRuns; }
+
+	public int getBudegtFactor() { return budgetFactor; }
+
+	public int getProblemDimension() { return problemDimension; }
+
+	public Vector<Algorithm> getAlgorithms() { return algorithms; }
+
+	public Vector<Problem> getProblems() { return problems; }
+
+	public void add(Problem problem) { problems.add(problem); }
+
+	public void add(Algorithm algorithm) { algorithms.add(algorithm); }
+
+	public int getNrProblems() { return problems.size(); }
+
+	public int getNrAlgorithms() { return algorithms.size(); }
+
+	public void setIDs()
+	{
+		for (Algorithm algorithm : algorithms)
+			if (algorithm.getID() == null)
+				algorithm.setID();
+	}
+
+	/**
+	 * Make sure that no two algorithms have the same ID (duplicates are renamed as "ClassName-1", "ClassName-2", ...).
+	 */
+	public void setUniqueIDs()
+	{
+		setIDs();
+		Vector<Algorithm> list = new Vector<Algorithm>(algorithms);
+		while (list.size() != 0)
+		{
+			String ID = list.remove(0).getID();
+			int n = 0;
+			for (Algorithm algorithm : list)
+				if (ID.equals(algorithm.getID()))
+					algorithm.setID(algorithm.getClass().getSimpleName() + "-" + (++n));
+		}
+	}
+
+	public void shortDescription()
+	{
+		out.println("This experiment contains " + getNrAlgorithms() + " optimisers and " + getNrProblems() + " problems with dimension value " + getProblemDimension());
+		out.println("(Runs," + getNrRuns() + " for each optimisation process, are spread over " + nrProc + " available processors)");
+		out.println();
+	}
+
+	public void tableHeader()
+	{
+		String slash = RunAndStore.slash();
+		if (saveRowData)
+			RunAndStore.createFolder(slash + expFolder);
+		int n = 0;
+		for (Algorithm algorithm : algorithms)
+		{
+			String ID = algorithm.getID();
+			if (saveRowData && !binaryTrends)
+				RunAndStore.createRFolder(slash + expFolder + slash + ID);
+			out.print("\t");
+			if (ID.length() >= 8)
+				out.print(ID + "\t");
+			else
+				out.print(ID + "\t\t");
+			if (n > 0)
+			{
+				out.print("\tW");
+				if (showPValue)
+					out.print("\tp-value\t");
+			}
+			n++;
+		}
+		out.println();
+	}
+
+	public void createExperimentFolders() throws Exception
+	{
+		if (saveRowData)
+		{
+			String slash = RunAndStore.slash();
+			String description = "##################### " + getProblemDimension() + " D #####################\nNumber of runs: " + getNrRuns() + "\nAlgorithms: ";
+			String settings = "";
+			for (Algorithm algorithm : algorithms)
+			{
+				description += algorithm.getID() + " ";
+				settings += algorithm.getParSetting() + "\n";
+			}
+			description += "\n" + settings + "Problems:\n";
+			for (Problem problem : problems)
+				description += RunAndStore.getFullName(problem) + problem.getFID() + "\n";
+			description += "\n";
+
+			RunAndStore.createRFolder(slash + expFolder);
+			if (!binaryTrends)
+				for (Algorithm algorithm : algorithms)
+				{
+					String ID = algorithm.getID();
+					RunAndStore.createRFolder(slash + expFolder + slash + ID);
+					for (Problem problem : problems)
+						RunAndStore.createRFolder(slash + expFolder + slash + ID + slash + RunAndStore.getFullName(problem) + problem.getFID() + "-" + problem.getDimension());
+				}
+			RunAndStore.toRText(expFolder, description);
+		}
+	}
+
+	/**
+	 * Run the experiment.
+	 * Every run of every (algorithm, problem) pair is a separate task of a work-stealing pool; tasks are submitted longest first,
+	 * according to the running times measured in previous experiments (pairs never timed before are submitted first).
+	 * Results are collected as runs complete (the fitness trend of each run is saved when it ends) and each row of the table
+	 * is printed as soon as all the runs on its problem are over. Statistics are updated online as each run completes (see OnlineStats),
+	 * hence the final values of the runs are not kept and partial tables can be printed while the experiment is running (see setLiveInterval).
+	 * Runs found in the journal of the experiment (see setJournal) are not executed, their results are taken from the journal.
+	 */
+	public void startExperiment() throws Exception
+	{
+		Vector<Experiment> experiments = new Vector<Experiment>();
+		experiments.add(this);
+		startExperiments(experiments);
+	}
+
+	/**
+	 * Run several experiments (e.g. the same benchmark in different dimensions) together.
+	 * The runs of all the experiments are tasks of a single work-stealing pool, submitted longest first as in startExperiment, so that
+	 * experiments overlap instead of being executed one after the other. Problems equal across experiments (same class, function ID, dimension
+	 * and bounds) are shared: the instance of the first experiment replaces the others.
+	 * Tables are printed in the order of the list: the output of an experiment is buffered until all the previous ones are over,
+	 * partial tables (see setLiveInterval) are printed for the experiment being displayed only. Journals, fitness trends and results do not change.
+	 * Experiments saving in the same folder share its journal and trend store (a single handle per file, see SharedFiles).
+	 */
+	public static void startExperiments(List<Experiment> experiments) throws Exception
+	{
+		shareProblems(experiments);
+
+		int nrProc = 1;
+		for (Experiment experiment : experiments)
+			nrProc = Math.max(nrProc, experiment.nrProc);
+		RunTimes runTimes = new RunTimes();
+		ForkJoinPool pool = new ForkJoinPool(nrProc);
+		SharedFiles files = new SharedFiles();
+		Vector<Session> sessions = new Vector<Session>();
+		Vector<Run> runs = new Vector<Run>();
+		int head = 0; // experiment being displayed
+		try
+		{
+			for (Experiment experiment : experiments)
+			{
+				Session session = experiment.new Session();
+				if (sessions.size() > 0)
+					session.buffer();
+				sessions.add(session);
+				session.open(pool, runTimes, runs, files);
+			}
+			Collections.sort(runs, new Comparator<Run>()
+			{
+				public int compare(Run r1, Run r2) { return Double.compare(r2.expected, r1.expected); }
+			});
+
+			ExecutorCompletionService<Run> completion = new ExecutorCompletionService<Run>(pool);
+			for (Run run : runs)
+				completion.submit(run);
+
+			for (int n = 0; n <= runs.size(); n++)
+			{
+				if (n > 0) // the first iteration prints the rows completed by the journals
+				{
+					Future<Run> completed;
+					long liveInterval = (head < sessions.size()) ? sessions.get(head).experiment().liveInterval : 0;
+					if (liveInterval > 0)
+						while ((completed = completion.poll(sessions.get(head).nextUpdate - System.currentTimeMillis(), TimeUnit.MILLISECONDS)) == null)
+						{
+							Session session = sessions.get(head);
+							session.experiment().printPartialTable(session.nextRow, session.stats, session.tests);
+							session.nextUpdate = System.currentTimeMillis() + 1000 * liveInterval;
+						}
+					else
+						completed = completion.take();
+					Run run = completed.get();
+					run.session.collect(run);
+				}
+				for (Session session : sessions)
+					session.printRows();
+				while (head < sessions.size() && sessions.get(head).closed)
+				{
+					head++;
+					if (head < sessions.size())
+						sessions.get(head).display();
+				}
+			}
+		}
+		finally
+		{
+			pool.shutdownNow();
+			runTimes.save();
+			for (Session session : sessions)
+				session.close();
+			files.close();
+			for (int s = head; s < sessions.size(); s++) // output of the experiments interrupted by an error
+				sessions.get(s).display();
+		}
+	}
+
+	/**
+	 * Share the problems equal across experiments (same name, function ID and dimension, see RunAndStore.problemName, and same bounds).
+	 */
+	private static void shareProblems(List<Experiment> experiments)
+	{
+		HashMap<String, Problem> shared = new HashMap<String, Problem>();
+		for (Experiment experiment : experiments)
+			for (int p = 0; p < experiment.problems.size(); p++)
+			{
+				Problem problem = experiment.problems.get(p);
+				String name = RunAndStore.problemName(problem);
+				Problem first = shared.get(name);
+				if (first == null)
+					shared.put(name, problem);
+				else if (first != problem && Arrays.deepEquals(first.getBounds(), problem.getBounds()))
+					experiment.problems.set(p, first);
+			}
+	}
+
+	/**
+	 * Journals and trend stores of the experiments run together, one per results folder (identified by its canonical path):
+	 * experiments saving in the same folder (e.g. the same benchmark in different dimensions) append to the same handles,
+	 * since separate handles on a file would write at their own positions and overwrite each other's records.
+	 */
+	private static class SharedFiles
+	{
+		private final HashMap<String, RunJournal> journals = new HashMap<String, RunJournal>();
+		private final HashMap<String, TrendStore> trendStores = new HashMap<String, TrendStore>();
+
+		RunJournal journal(String folder) throws Exception
+		{
+			String key = new File(folder).getCanonicalPath();
+			RunJournal runJournal = journals.get(key);
+			if (runJournal == null)
+			{
+				runJournal = new RunJournal(folder + RunAndStore.slash() + "journal");
+				journals.put(key, runJournal);
+			}
+			return runJournal;
+		}
+
+		TrendStore trendStore(String folder) throws Exception
+		{
+			String key = new File(folder).getCanonicalPath();
+			TrendStore trendStore = trendStores.get(key);
+			if (trendStore == null)
+			{
+				trendStore = new TrendStore(folder + RunAndStore.slash() + "trends");
+				trendStores.put(key, trendStore);
+			}
+			return trendStore;
+		}
+
+		void close() throws Exception
+		{
+			for (RunJournal runJournal : journals.values())
+				runJournal.close();
+			for (TrendStore trendStore : trendStores.values())
+				trendStore.close();
+		}
+	}
+
+	/**
+	 * Execution of an experiment within startExperiments: its runs, the statistics collected so far, the rows printed and the journal and trend store of its folder.
+	 */
+	private class Session
+	{
+		RunJournal runJournal = null;
+		TrendStore trendStore = null;
+		OnlineStats[][] stats;
+		RankSum[][] tests; // algorithm a against the first one (a > 0)
+		int[] finished; // completed runs per problem
+		int pending = 0; // runs submitted and not completed yet
+		int submitted = 0;
+		int nextRow = 0;
+		long budgets = 0, saved = 0, stopped = 0, restarts = 0; // convergence detection
+		long hits = 0, misses = 0; // fitness cache
+		long nextUpdate;
+		boolean closed = false;
+		ByteArrayOutputStream buffer = null; // output not displayed yet
+
+		Experiment experiment() { return Experiment.this; }
+
+		/**
+		 * Print the header of the table, open (or share) journal and trend store, and add the runs not found in the journal to the list.
+		 */
+		void open(ForkJoinPool pool, RunTimes runTimes, Vector<Run> runs, SharedFiles files) throws Exception
+		{
+			setUniqueIDs();
+			shortDescription();
+			tableHeader();
+			createExperimentFolders();
+
+			int nrAlgorithms = algorithms.size();
+			int nrProblems = problems.size();
+			String folder = RunAndStore.getResultsFolder() + RunAndStore.slash() + expFolder;
+			if (journal)
+			{
+				RunAndStore.createRFolder(RunAndStore.slash() + expFolder);
+				runJournal = files.journal(folder);
+				Long journalSeed = runJournal.getSeed();
+				if (!seedSet && journalSeed != null && journalSeed != seed)
+				{
+					seed = journalSeed;
+					out.println("Seed " + seed + " taken from the journal (" + runJournal.size() + " runs)");
+					out.println();
+				}
+			}
+			if (saveRowData && binaryTrends)
+				trendStore = files.trendStore(folder);
+
+			stats = new OnlineStats[nrProblems][nrAlgorithms];
+			tests = new RankSum[nrProblems][nrAlgorithms];
+			for (int p = 0; p < nrProblems; p++)
+				for (int a = 0; a < nrAlgorithms; a++)
+				{
+					stats[p][a] = new OnlineStats();
+					tests[p][a] = new RankSum();
+				}
+			finished = new int[nrProblems];
+			for (int p = 0; p < nrProblems; p++)
+				for (int a = 0; a < nrAlgorithms; a++)
+					for (int run = 0; run < nrRuns; run++)
+					{
+						Algorithm algorithm = algorithms.get(a).copy();
+						if (convergenceDetector != null)
+							algorithm.setConvergenceDetector(convergenceDetector.copy());
+						AlgorithmRepetitionThread task = new AlgorithmRepetitionThread(algorithm, problems.get(p), run, budgetFactor, saveRowData, expFolder);
+						task.setSeed(seed);
+						task.setTrendResolution(trendResolution);
+						task.setTrendStore(trendStore);
+						task.setCacheSize(cacheSize);
+						if (parallelEvaluation)
+							task.setEvaluationPool(pool);
+						RunJournal.Entry done = (runJournal != null) ? runJournal.get(task.getAlgorithm().getID(), task.getAlgorithm().getParSetting(), task.getProblemName(), run, task.getBudget(), seed) : null;
+						if (done != null)
+						{
+							add(stats[p], tests[p], a, done.fbest);
+							finished[p]++;
+							continue;
+						}
+						double expected = runTimes.expected(task.getAlgorithm().getID(), task.getProblemName());
+						runs.add(new Run(this, runTimes, task, p, a, Double.isNaN(expected) ? Double.POSITIVE_INFINITY : expected));
+						pending++;
+					}
+			submitted = pending;
+			nextUpdate = System.currentTimeMillis() + 1000 * liveInterval;
+		}
+
+		/**
+		 * Result of a completed run.
+		 */
+		void collect(Run run) throws Exception
+		{
+			add(stats[run.p], tests[run.p], run.a, run.result.fbest);
+			budgets += run.task.getBudget();
+			saved += run.result.savedEvaluations;
+			stopped += (run.result.savedEvaluations > 0) ? 1 : 0;
+			restarts += run.result.restarts;
+			hits += run.result.cacheHits;
+			misses += run.result.cacheMisses;
+			run.runTimes.add(run.task.getAlgorithm().getID(), run.task.getProblemName(), run.result.time);
+			if (runJournal != null)
+				runJournal.append(new RunJournal.Entry(run.task.getAlgorithm().getID(), run.task.getAlgorithm().getParSetting(), run.task.getProblemName(), run.result.repNr, run.task.getBudget(), seed, run.result.fbest, run.result.time));
+			finished[run.p]++;
+			pending--;
+		}
+
+		/**
+		 * Print the rows completed (in problem order); once all of them are printed, print the summaries and close the experiment.
+		 */
+		void printRows() throws Exception
+		{
+			if (closed)
+				return;
+			int nrAlgorithms = algorithms.size();
+			while (nextRow < problems.size() && finished[nextRow] == nrAlgorithms * nrRuns)
+			{
+				printRow(nextRow, stats[nextRow], tests[nextRow]);
+				nextRow++;
+			}
+			if (pending > 0)
+				return;
+			close();
+			out.println();
+			if (convergenceDetector != null && budgets > 0)
+			{
+				out.println("Convergence detection: " + stopped + " of " + submitted + " runs stopped early, " + saved + " evaluations saved ("
+						+ String.format("%.1f", 100.0 * saved / budgets) + "% of their budget), " + restarts + " restarts");
+				out.println();
+			}
+			if (cacheSize > 0 && hits + misses > 0)
+			{
+				out.println("Fitness cache: " + hits + " hits, " + misses + " misses (" + String.format("%.1f", 100.0 * hits / (hits + misses)) + "% of the evaluations saved)");
+				out.println();
+			}
+		}
+
+		/**
+		 * Keep the output of the experiment in memory until it is displayed.
+		 */
+		void buffer() throws Exception
+		{
+			buffer = new ByteArrayOutputStream();
+			out = new PrintStream(buffer, true, "UTF-8");
+		}
+
+		/**
+		 * Print the output buffered so far, and the rest of it as it comes.
+		 */
+		void display() throws Exception
+		{
+			if (buffer == null)
+				return;
+			out.flush();
+			System.out.print(buffer.toString("UTF-8"));
+			System.out.flush();
+			out = System.out;
+			buffer = null;
+		}
+
+		/**
+		 * Mark the experiment as over (journal and trend store may be shared, they are closed by startExperiments).
+		 */
+		void close()
+		{
+			closed = true;
+		}
+	}
+
+	/**
+	 * Final value of a run of algorithm a on a problem: statistics of the algorithm and rank sums against the first algorithm updated.
+	 */
+	private static void add(OnlineStats[] stats, RankSum[] tests, int a, double fbest)
+	{
+		stats[a].add(fbest);
+		if (a == 0)
+			for (int b = 1; b < tests.length; b++)
+				tests[b].addFirst(fbest);
+		else
+			tests[a].addSecond(fbest);
+	}
+
+	/**
+	 * Print the results on a problem (mean and standard deviation of each algorithm, and outcome of the Wilcoxon test against the first one).
+	 */
+	private void printRow(int p, OnlineStats[] stats, RankSum[] tests)
+	{
+		out.print("f" + (p + 1) + "\t");
+		for (int a = 0; a < stats.length; a++)
+		{
+			String mean = RunAndStore.format(stats[a].getMean());
+			String std = RunAndStore.format(stats[a].getStd());
+			out.print(mean + " ? " + std + "\t");
+			if (a > 0)
+				RunAndStore.displayWilcoxon(out, stats[0], stats[a], tests[a], showPValue, 0.05);
+		}
+		out.println();
+	}
+
+	/**
+	 * Print the partial results on the problems whose row has not been printed yet (from the first one): completed runs,
+	 * mean, standard deviation and median of each algorithm, and outcome of the Wilcoxon test against the first one on the runs completed so far.
+	 */
+	private void printPartialTable(int first, OnlineStats[][] stats, RankSum[][] tests)
+	{
+		out.println("--- partial results ---");
+		for (int p = first; p < stats.length; p++)
+		{
+			out.print("f" + (p + 1) + "\t");
+			for (int a = 0; a < stats[p].length; a++)
+			{
+				OnlineStats s = stats[p][a];
+				if (s.getN() == 0)
+					out.print("- (0/" + nrRuns + ")\t");
+				else
+					out.print(RunAndStore.format(s.getMean()) + " ? " + RunAndStore.format(s.getStd()) + " med " + RunAndStore.format(s.getMedian()) + " (" + s.getN() + "/" + nrRuns + ")\t");
+				if (a > 0)
+				{
+					if (stats[p][0].getN() > 0 && s.getN() > 0)
+						RunAndStore.displayWilcoxon(out, stats[p][0], s, tests[p][a], showPValue, 0.05);
+					else
+						out.print("?\t");
+				}
+			}
+			out.println();
+		}
+		out.println("-----------------------");
+	}
+
+	/**
+	 * A run of an experiment (problem p, algorithm a) and its expected running time.
+	 */
+	private static class Run implements Callable<Run>
+	{
+		final Session session;
+		final RunTimes runTimes;
+		final AlgorithmRepetitionThread task;
+		final int p;
+		final int a;
+		final double expected;
+		AlgorithmResult result;
+
+		Run(Session session, RunTimes runTimes, AlgorithmRepetitionThread task, int p, int a, double expected)
+		{
+			this.session = session;
+			this.runTimes = runTimes;
+			this.task = task;
+			this.p = p;
+			this.a = a;
+			this.expected = expected;
+		}
+
+		public Run call() throws Exception
+		{
+			result = task.call();
+			return this;
+		}
+	}
+}
@@ -0,0 +1,48 @@
+package interfaces;
+
+/**
+ * Problem whose fitness can be updated incrementally when a single design variable changes (e.g. separable functions, where f is a
+ * combination of one term per variable): the moves of coordinate-wise searches (S, SResetDelta, ISPO) are evaluated in O(1) instead of O(n).
+ *
+ * The partial results (e.g. the terms of the sum) are kept by a Delta object, created by the algorithm for its current solution at the
+ * beginning of a run: a Delta belongs to a single run and is not thread-safe, whereas the problem can still be shared among runs.
+ * Incremental values agree with f up to rounding errors (they are not bit-identical, since the terms are added in a different order).
+ */
+public interface IncrementalProblem
+{
+	/**
+	 * Incremental evaluator positioned on x (the partial results are computed here, in O(n)).
+	 *
+	 * @param x current solution.
+	 */
+	Delta delta(double[] x);
+
+	/**
+	 * Incremental evaluator of the moves around the current solution.
+	 */
+	interface Delta
+	{
+		/**
+		 * Fitness of the current solution.
+		 */
+		double f();
+
+		/**
+		 * Fitness of the current solution with its i-th design variable replaced by newValue (the current solution does not change).
+		 *
+		 * @param x current solution (x[i] can already hold newValue).
+		 * @param i index of the design variable.
+		 * @param newValue new value of the design variable.
+		 */
+		double fDelta(double[] x, int i, double newValue);
+
+		/**
+		 * Move the current solution: x[i] = newValue, and partial results updated.
+		 *
+		 * @param x current solution.
+		 * @param i index of the design variable.
+		 * @param newValue new value of the design variable.
+		 */
+		void accept(double[] x, int i, double newValue);
+	}
+}
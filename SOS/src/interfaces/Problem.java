@@ -0,0 +1,65 @@
+package interfaces;
+
+/**
+ * Optimisation problem: objective function to be minimised and its search space.
+ */
+public abstract class Problem
+{
+	private int dimension;
+	private double[][] bounds;
+	private String FID = "";
+
+	public Problem(int dimension, double[][] bounds)
+	{
+		this.dimension = dimension;
+		this.bounds = bounds;
+	}
+
+	public Problem(int dimension, double[] bounds)
+	{
+		this.dimension = dimension;
+		this.bounds = new double[dimension][2];
+		for (int i = 0; i < dimension; i++)
+		{
+			this.bounds[i][0] = bounds[0];
+			this.bounds[i][1] = bounds[1];
+		}
+	}
+
+	public abstract double f(double[] x) throws Exception;
+
+	/**
+	 * Evaluate a set of solutions: out[i] = f(xs[i]).
+	 *
+	 * @param xs solutions to be evaluated.
+	 * @param out array where the fitness values are stored (length at least xs.length).
+	 */
+	public void evaluateBatch(double[][] xs, double[] out) throws Exception
+	{
+		evaluateBatch(xs, 0, xs.length, out);
+	}
+
+	/**
+	 * Evaluate the solutions xs[from], ..., xs[to-1]: out[i] = f(xs[i]).
+	 * The default implementation calls f once per solution, problems can override it to share work and memory across the batch.
+	 * Results must be the same of f.
+	 *
+	 * @param xs solutions.
+	 * @param from index of the first solution to be evaluated.
+	 * @param to index after the last solution to be evaluated.
+	 * @param out array where the fitness values are stored (same indices of xs).
+	 */
+	public void evaluateBatch(double[][] xs, int from, int to, double[] out) throws Exception
+	{
+		for (int i = from; i < to; i++)
+			out[i] = f(xs[i]);
+	}
+
+	public int getDimension() { return dimension; }
+
+	public double[][] getBounds() { return bounds; }
+
+	public String getFID() { return FID; }
+
+	public void setFID(String FID) { this.FID = FID; }
+}
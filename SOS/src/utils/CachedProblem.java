@@ -0,0 +1,175 @@
+package utils;
+
+import java.util.Arrays;
+
+import interfaces.Problem;
+
+/**
+ * Problem whose fitness values are memoised in a bounded cache, so that points evaluated again (e.g. by the coordinate-wise local searches
+ * of S, SResetDelta and jDES, once the exploratory radius underflows or when a step is undone) are not recomputed.
+ *
+ * Points are identified by the bit patterns of their design variables, hence a cached value is exactly the value the wrapped problem would
+ * return (the wrapped problem must be deterministic). The cache is an open-addressing hash table (linear probing) over a fixed number of entries,
+ * evicted with the CLOCK policy (an approximation of LRU: an entry is evicted after a full sweep of the clock hand without being hit).
+ * Hits and misses are counted; algorithms still count a hit as a fitness evaluation, so the results of a run do not change.
+ * Lookups are synchronised, evaluations of missing points are not: the cache can be wrapped by a ParallelProblem.
+ */
+public class CachedProblem extends Problem
+{
+	private final Problem problem;
+	private final int capacity;
+	private final int dim;
+
+	private final double[] keys; // design variables of the cached points (capacity x dim, row-major)
+	private final long[] hashes;
+	private final double[] values;
+	private final boolean[] referenced; // CLOCK bits
+	private final int[] table; // open-addressing table of entry indices (-1: empty)
+	private final int mask;
+	private int size = 0;
+	private int hand = 0;
+
+	private long hits = 0;
+	private long misses = 0;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param problem problem to be evaluated.
+	 * @param capacity maximum number of cached points.
+	 */
+	public CachedProblem(Problem problem, int capacity)
+	{
+		super(problem.getDimension(), problem.getBounds());
+		setFID(problem.getFID());
+		this.problem = problem;
+		this.capacity = Math.max(1, capacity);
+		this.dim = problem.getDimension();
+		keys = new double[this.capacity * dim];
+		hashes = new long[this.capacity];
+		values = new double[this.capacity];
+		referenced = new boolean[this.capacity];
+		int tableSize = Integer.highestOneBit(2 * this.capacity - 1) << 1; // power of two, load factor at most 1/2
+		table = new int[tableSize];
+		mask = tableSize - 1;
+		Arrays.fill(table, -1);
+	}
+
+	public Problem getProblem() { return problem; }
+
+	public synchronized long getHits() { return hits; }
+
+	public synchronized long getMisses() { return misses; }
+
+	@Override
+	public double f(double[] x) throws Exception
+	{
+		if (x.length != dim)
+			return problem.f(x); // the wrapped problem reports the error
+		long hash = hash(x);
+		synchronized (this)
+		{
+			int entry = find(x, hash);
+			if (entry >= 0)
+			{
+				referenced[entry] = true;
+				hits++;
+				return values[entry];
+			}
+			misses++;
+		}
+		double value = problem.f(x);
+		synchronized (this)
+		{
+			if (find(x, hash) < 0) // another thread may have stored it meanwhile
+				insert(x, hash, value);
+		}
+		return value;
+	}
+
+	/**
+	 * Index of the entry holding x, -1 if x is not cached.
+	 */
+	private int find(double[] x, long hash)
+	{
+		for (int i = (int) hash & mask; table[i] >= 0; i = (i + 1) & mask)
+		{
+			int entry = table[i];
+			if (hashes[entry] == hash && equals(entry, x))
+				return entry;
+		}
+		return -1;
+	}
+
+	private void insert(double[] x, long hash, double value)
+	{
+		int entry;
+		if (size < capacity)
+			entry = size++;
+		else
+		{
+			// CLOCK: the hand clears the bits of the referenced entries and stops at the first unreferenced one
+			while (referenced[hand])
+			{
+				referenced[hand] = false;
+				hand = (hand + 1) % capacity;
+			}
+			entry = hand;
+			hand = (hand + 1) % capacity;
+			remove(entry);
+		}
+		System.arraycopy(x, 0, keys, entry * dim, dim);
+		hashes[entry] = hash;
+		values[entry] = value;
+		referenced[entry] = false;
+		int i = (int) hash & mask;
+		while (table[i] >= 0)
+			i = (i + 1) & mask;
+		table[i] = entry;
+	}
+
+	/**
+	 * Remove an entry from the table (backward-shift deletion, no tombstones).
+	 */
+	private void remove(int entry)
+	{
+		int i = (int) hashes[entry] & mask;
+		while (table[i] != entry)
+			i = (i + 1) & mask;
+		int j = i;
+		while (true)
+		{
+			j = (j + 1) & mask;
+			if (table[j] < 0)
+				break;
+			int home = (int) hashes[table[j]] & mask;
+			// the entry at j can fill the hole at i if its home slot is not cyclically in (i, j]
+			if ((j > i && (home <= i || home > j)) || (j < i && (home <= i && home > j)))
+			{
+				table[i] = table[j];
+				i = j;
+			}
+		}
+		table[i] = -1;
+	}
+
+	private boolean equals(int entry, double[] x)
+	{
+		int offset = entry * dim;
+		for (int i = 0; i < dim; i++)
+			if (Double.doubleToLongBits(keys[offset + i]) != Double.doubleToLongBits(x[i]))
+				return false;
+		return true;
+	}
+
+	private static long hash(double[] x)
+	{
+		long h = 0x9E3779B97F4A7C15L;
+		for (int i = 0; i < x.length; i++)
+			h = (h ^ Double.doubleToLongBits(x[i])) * 0xFF51AFD7ED558CCDL;
+		h ^= h >>> 33;
+		h *= 0xC4CEB9FE1A85EC53L;
+		h ^= h >>> 33;
+		return h;
+	}
+}
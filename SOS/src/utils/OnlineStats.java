@@ -0,0 +1,212 @@
+package utils;
+
+import java.util.Arrays;
+
+import org.apache.commons.math3.distribution.NormalDistribution;
+
+/**
+ * Statistics of a sample updated one value at a time (e.g. the final fitness values of the runs of an algorithm on a problem, as runs complete).
+ *
+ * Mean and standard deviation are computed with Welford's algorithm, the median is estimated with the P-square algorithm
+ * (Jain and Chlamtac, 1985), which keeps five markers instead of the values (exact up to five values).
+ * The standard deviation is normalised by n, as MatLab.std.
+ */
+public class OnlineStats
+{
+	private int n = 0;
+	private double mean = 0;
+	private double m2 = 0; // sum of squared deviations from the mean
+	private double min = Double.POSITIVE_INFINITY;
+	private double max = Double.NEGATIVE_INFINITY;
+
+	// P-square markers of the median: heights, actual and desired positions
+	private final double[] q = new double[5];
+	private final int[] position = {1, 2, 3, 4, 5};
+	private final double[] desired = {1, 2, 3, 4, 5};
+	private static final double[] INCREMENT = {0, 0.25, 0.5, 0.75, 1};
+
+	public void add(double x)
+	{
+		n++;
+		double delta = x - mean;
+		mean += delta / n;
+		m2 += delta * (x - mean);
+		min = Math.min(min, x);
+		max = Math.max(max, x);
+		addToMedian(x);
+	}
+
+	public int getN() { return n; }
+
+	public double getMean() { return (n > 0) ? mean : 0.0; }
+
+	public double getVariance() { return (n > 0) ? m2 / n : 0.0; }
+
+	public double getStd() { return Math.sqrt(getVariance()); }
+
+	public double getMin() { return min; }
+
+	public double getMax() { return max; }
+
+	/**
+	 * Median (exact up to five values, P-square estimate afterwards).
+	 */
+	public double getMedian()
+	{
+		if (n == 0)
+			return Double.NaN;
+		if (n < 5)
+		{
+			double[] sorted = Arrays.copyOf(q, n);
+			Arrays.sort(sorted);
+			return (n % 2 == 0) ? (sorted[n / 2 - 1] + sorted[n / 2]) / 2.0 : sorted[n / 2];
+		}
+		return q[2];
+	}
+
+	private void addToMedian(double x)
+	{
+		if (n <= 5)
+		{
+			q[n - 1] = x;
+			if (n == 5)
+				Arrays.sort(q);
+			return;
+		}
+
+		// cell of x, extremes updated
+		int k;
+		if (x < q[0])
+		{
+			q[0] = x;
+			k = 0;
+		}
+		else if (x >= q[4])
+		{
+			q[4] = x;
+			k = 3;
+		}
+		else
+		{
+			k = 0;
+			while (x >= q[k + 1])
+				k++;
+		}
+		for (int i = k + 1; i < 5; i++)
+			position[i]++;
+		for (int i = 0; i < 5; i++)
+			desired[i] += INCREMENT[i];
+
+		// inner markers moved towards their desired positions
+		for (int i = 1; i < 4; i++)
+		{
+			double d = desired[i] - position[i];
+			if ((d >= 1 && position[i + 1] - position[i] > 1) || (d <= -1 && position[i - 1] - position[i] < -1))
+			{
+				int s = (d > 0) ? 1 : -1;
+				double parabolic = q[i] + s / (double) (position[i + 1] - position[i - 1])
+						* ((position[i] - position[i - 1] + s) * (q[i + 1] - q[i]) / (position[i + 1] - position[i])
+						+ (position[i + 1] - position[i] - s) * (q[i] - q[i - 1]) / (position[i] - position[i - 1]));
+				if (q[i - 1] < parabolic && parabolic < q[i + 1])
+					q[i] = parabolic;
+				else
+					q[i] += s * (q[i + s] - q[i]) / (position[i + s] - position[i]);
+				position[i] += s;
+			}
+		}
+	}
+
+	/**
+	 * Mann-Whitney (Wilcoxon rank-sum) test of two samples updated one value at a time.
+	 *
+	 * The U statistic (number of pairs in which the first sample is larger, ties counted 1/2) is updated with each new value
+	 * by counting, with a binary search, the values of the other sample below and equal to it. Hence no ranking of the whole
+	 * samples is needed when the test is performed. The values are kept sorted, as the exact statistic depends on all of them.
+	 * The p-value is the asymptotic one of MannWhitneyUTest (commons-math), and has the same value.
+	 */
+	public static class RankSum
+	{
+		private double[] a = new double[16];
+		private double[] b = new double[16];
+		private int na = 0;
+		private int nb = 0;
+		private long twiceU = 0; // 2 * U of the first sample
+
+		private static final NormalDistribution STANDARD_NORMAL = new NormalDistribution(0, 1);
+
+		/**
+		 * New value of the first sample.
+		 */
+		public void addFirst(double x)
+		{
+			twiceU += 2 * countBelow(b, nb, x) + countEqual(b, nb, x);
+			a = insert(a, na++, x);
+		}
+
+		/**
+		 * New value of the second sample.
+		 */
+		public void addSecond(double x)
+		{
+			twiceU += 2 * (na - countBelow(a, na, x) - countEqual(a, na, x)) + countEqual(a, na, x);
+			b = insert(b, nb++, x);
+		}
+
+		public int getFirstN() { return na; }
+
+		public int getSecondN() { return nb; }
+
+		/**
+		 * U statistic of the first sample.
+		 */
+		public double getU() { return twiceU / 2.0; }
+
+		/**
+		 * Two-sided p-value (normal approximation), NaN if a sample is empty.
+		 */
+		public double pValue()
+		{
+			if (na == 0 || nb == 0)
+				return Double.NaN;
+			long n1n2 = (long) na * nb;
+			double uMin = n1n2 - Math.max(getU(), n1n2 - getU());
+			double z = (uMin - n1n2 / 2.0) / Math.sqrt(n1n2 * (na + nb + 1L) / 12.0);
+			return 2 * STANDARD_NORMAL.cumulativeProbability(z);
+		}
+
+		/**
+		 * Number of values (of the first size elements of a sorted array) smaller than x.
+		 */
+		private static int countBelow(double[] v, int size, double x)
+		{
+			int low = 0, high = size;
+			while (low < high)
+			{
+				int middle = (low + high) >>> 1;
+				if (v[middle] < x)
+					low = middle + 1;
+				else
+					high = middle;
+			}
+			return low;
+		}
+
+		private static int countEqual(double[] v, int size, double x)
+		{
+			int count = 0;
+			for (int i = countBelow(v, size, x); i < size && v[i] == x; i++)
+				count++;
+			return count;
+		}
+
+		private static double[] insert(double[] v, int size, double x)
+		{
+			if (size == v.length)
+				v = Arrays.copyOf(v, 2 * size);
+			int i = countBelow(v, size, x);
+			System.arraycopy(v, i, v, i + 1, size - i);
+			v[i] = x;
+			return v;
+		}
+	}
+}
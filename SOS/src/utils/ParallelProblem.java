@@ -0,0 +1,142 @@
+package utils;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+import interfaces.Problem;
+
+/**
+ * Problem whose batch evaluations are split across the threads of a ForkJoinPool (intra-run parallelism).
+ *
+ * Each fitness value is computed by exactly one call of the wrapped problem and stored at its own index, hence results
+ * do not depend on the number of threads: a run gives the same results with and without this wrapper.
+ * The wrapped problem must be safe to evaluate from several threads at once (this is the case for BaseFunctions, CEC2014 and CEC2015).
+ * Single evaluations (f) are not parallelised.
+ */
+public class ParallelProblem extends Problem
+{
+	private static final int DEFAULT_GRAIN = 8;
+
+	private final Problem problem;
+	private final ForkJoinPool pool;
+	private final int grain;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param problem problem to be evaluated.
+	 * @param pool threads used for evaluating batches (if the caller is a worker of a ForkJoinPool, that pool is used instead).
+	 * @param grain maximum number of solutions evaluated sequentially by a single task.
+	 */
+	public ParallelProblem(Problem problem, ForkJoinPool pool, int grain)
+	{
+		super(problem.getDimension(), problem.getBounds());
+		setFID(problem.getFID());
+		this.problem = problem;
+		this.pool = pool;
+		this.grain = Math.max(1, grain);
+	}
+
+	public ParallelProblem(Problem problem, ForkJoinPool pool)
+	{
+		this(problem, pool, DEFAULT_GRAIN);
+	}
+
+	public ParallelProblem(Problem problem)
+	{
+		this(problem, ForkJoinPool.commonPool(), DEFAULT_GRAIN);
+	}
+
+	public Problem getProblem() { return problem; }
+
+	@Override
+	public double f(double[] x) throws Exception
+	{
+		return problem.f(x);
+	}
+
+	@Override
+	public void evaluateBatch(double[][] xs, int from, int to, double[] out) throws Exception
+	{
+		if (to - from <= grain)
+		{
+			problem.evaluateBatch(xs, from, to, out);
+			return;
+		}
+
+		BatchTask task = new BatchTask(xs, from, to, out);
+		try
+		{
+			if (ForkJoinTask.inForkJoinPool())
+				task.invoke();
+			else
+				pool.invoke(task);
+		}
+		catch (EvaluationException e)
+		{
+			// the exception may have been re-wrapped when crossing threads
+			Throwable cause = e.getCause();
+			while (cause instanceof EvaluationException)
+				cause = cause.getCause();
+			throw (Exception) cause;
+		}
+	}
+
+	/**
+	 * Evaluation of xs[from], ..., xs[to-1], halved until at most grain solutions are left.
+	 */
+	private class BatchTask extends RecursiveAction
+	{
+		private static final long serialVersionUID = 1L;
+
+		private final double[][] xs;
+		private final int from;
+		private final int to;
+		private final double[] out;
+
+		BatchTask(double[][] xs, int from, int to, double[] out)
+		{
+			this.xs = xs;
+			this.from = from;
+			this.to = to;
+			this.out = out;
+		}
+
+		@Override
+		protected void compute()
+		{
+			if (to - from <= grain)
+			{
+				try
+				{
+					problem.evaluateBatch(xs, from, to, out);
+				}
+				catch (RuntimeException e)
+				{
+					throw e;
+				}
+				catch (Exception e)
+				{
+					throw new EvaluationException(e);
+				}
+				return;
+			}
+			int middle = (from + to) >>> 1;
+			invokeAll(new BatchTask(xs, from, middle, out), new BatchTask(xs, middle, to, out));
+		}
+	}
+
+	/**
+	 * Checked exception thrown by the wrapped problem, carried through the ForkJoin framework.
+	 */
+	private static class EvaluationException extends RuntimeException
+	{
+		private static final long serialVersionUID = 1L;
+
+		EvaluationException(Exception cause)
+		{
+			super(cause);
+		}
+	}
+}
@@ -0,0 +1,578 @@
+package utils;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.PrintStream;
+import java.text.DecimalFormat;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Vector;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+
+import org.apache.commons.lang3.SystemUtils;
+import org.apache.commons.math3.stat.inference.MannWhitneyUTest;
+
+import interfaces.Algorithm;
+import interfaces.Problem;
+import utils.algorithms.ConvergenceDetector;
+import utils.random.RandUtils;
+import utils.random.RandomStream;
+
+/**
+ * Execution of the runs and storage of the results.
+ */
+public class RunAndStore
+{
+	private static String resultsFolder = ".";
+	private static ThreadLocal<DecimalFormat> formatter = ThreadLocal.withInitial(() -> new DecimalFormat("0.000E00")); // DecimalFormat is not thread-safe, runs save their trends concurrently
+	private static MannWhitneyUTest mannWhitneyUTest;
+
+	/**
+	 * Create (if needed) the "results" folder.
+	 */
+	public static void resultsFolder()
+	{
+		resultsFolder = resultsFolder + slash() + "results";
+		createFolder(resultsFolder);
+	}
+
+	public static String getResultsFolder() { return resultsFolder; }
+
+	public static void createFolder(String path)
+	{
+		try
+		{
+			File folder = new File(path);
+			if (!folder.exists())
+				folder.mkdir();
+		}
+		catch (Exception e)
+		{
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Create a folder inside the "results" folder.
+	 */
+	public static void createRFolder(String path)
+	{
+		createFolder(resultsFolder + slash() + path);
+	}
+
+	public static String slash()
+	{
+		return SystemUtils.IS_OS_WINDOWS ? "\\" : "/";
+	}
+
+	/**
+	 * Save the fitness trend (and the final best) of a run.
+	 *
+	 * @param FT fitness trend.
+	 * @param best final best solution.
+	 * @param path file name (without extension).
+	 * @param text true for a text file (binary files are not supported yet, see TrendStore for storing the trends of a whole experiment in binary form).
+	 */
+	public static void saveTrend(FTrend FT, double[] best, String path, boolean text)
+	{
+		try
+		{
+			if (text)
+			{
+				FileWriter writer = new FileWriter(path + ".txt");
+				writer.write("#");
+				for (int i = 0; i < best.length; i++)
+					writer.write(" " + format(best[i]));
+				writer.write("\n");
+				writer.write(FT.toString());
+				writer.close();
+			}
+			else
+			{
+				DataOutputStream out = new DataOutputStream(new FileOutputStream(path + ".bin"));
+				out.close();
+			}
+		}
+		catch (Exception e)
+		{
+			e.printStackTrace();
+		}
+	}
+
+	public static String format(double value)
+	{
+		String s = formatter.get().format(value).toLowerCase();
+		if (!s.contains("e-"))
+			s = s.replace("e", "e+");
+		return s;
+	}
+
+	/**
+	 * Print the outcome of the Wilcoxon rank-sum test: "=" equivalent, "+" first sample better, "-" first sample worse.
+	 */
+	public static void displayWilcoxon(double[] a, double[] b, boolean showPValue, double alpha)
+	{
+		if (mannWhitneyUTest == null)
+			mannWhitneyUTest = new MannWhitneyUTest();
+		double pValue = mannWhitneyUTest.mannWhitneyUTest(a, b);
+		char w = '=';
+		if (pValue < alpha)
+			w = (MatLab.mean(a) < MatLab.mean(b)) ? '+' : '-';
+		System.out.print(w + "\t");
+		if (showPValue)
+			System.out.print(format(pValue) + "\t");
+	}
+
+	/**
+	 * Print the outcome of the Wilcoxon rank-sum test from online statistics (see OnlineStats): same output as displayWilcoxon(double[], double[], ...).
+	 *
+	 * @param a statistics of the first sample.
+	 * @param b statistics of the second sample.
+	 * @param test rank sums of the two samples.
+	 */
+	public static void displayWilcoxon(OnlineStats a, OnlineStats b, OnlineStats.RankSum test, boolean showPValue, double alpha)
+	{
+		displayWilcoxon(System.out, a, b, test, showPValue, alpha);
+	}
+
+	/**
+	 * Print the outcome of the Wilcoxon rank-sum test from online statistics on the given stream.
+	 */
+	public static void displayWilcoxon(PrintStream out, OnlineStats a, OnlineStats b, OnlineStats.RankSum test, boolean showPValue, double alpha)
+	{
+		double pValue = test.pValue();
+		char w = '=';
+		if (pValue < alpha)
+			w = (a.getMean() < b.getMean()) ? '+' : '-';
+		out.print(w + "\t");
+		if (showPValue)
+			out.print(format(pValue) + "\t");
+	}
+
+	/**
+	 * Append a string to a text file.
+	 */
+	public static void toText(String path, String s) throws Exception
+	{
+		File file = new File(path + ".txt");
+		if (!file.exists())
+			file.createNewFile();
+		BufferedWriter writer = new BufferedWriter(new FileWriter(file.getAbsoluteFile(), true));
+		writer.write(s);
+		writer.close();
+	}
+
+	/**
+	 * Append a string to a text file inside the "results" folder.
+	 */
+	public static void toRText(String path, String s) throws Exception
+	{
+		toText(resultsFolder + slash() + path, s);
+	}
+
+	public static String getFullName(Object o)
+	{
+		return o.getClass().getName().replace("$", ".");
+	}
+
+	/**
+	 * Full name, function ID and dimension of a problem (e.g. "benchmarks.CEC2014.f1-10").
+	 */
+	public static String problemName(Problem problem)
+	{
+		return getFullName(problem) + problem.getFID() + "-" + problem.getDimension();
+	}
+
+	/**
+	 * Historical running times of (algorithm, problem) pairs, stored in "runTimes.txt" inside the "results" folder.
+	 * Used for scheduling the longest runs first.
+	 */
+	public static class RunTimes
+	{
+		private final HashMap<String, double[]> times = new HashMap<String, double[]>(); // key -> {mean time (ms), number of runs}
+		private final String path;
+
+		public RunTimes()
+		{
+			this(resultsFolder + slash() + "runTimes");
+		}
+
+		/**
+		 * @param path file name (without extension).
+		 */
+		public RunTimes(String path)
+		{
+			this.path = path;
+			File file = new File(path + ".txt");
+			if (file.exists())
+			{
+				try (BufferedReader reader = new BufferedReader(new FileReader(file)))
+				{
+					String line;
+					while ((line = reader.readLine()) != null)
+					{
+						String[] fields = line.split("\t");
+						if (fields.length == 4)
+							times.put(fields[0] + "\t" + fields[1], new double[] {Double.parseDouble(fields[2]), Double.parseDouble(fields[3])});
+					}
+				}
+				catch (Exception e)
+				{
+					e.printStackTrace();
+				}
+			}
+		}
+
+		/**
+		 * Mean running time (ms) of the algorithm on the problem, NaN if unknown.
+		 */
+		public double expected(String algorithmID, String problemName)
+		{
+			double[] t = times.get(algorithmID + "\t" + problemName);
+			return (t == null) ? Double.NaN : t[0];
+		}
+
+		public void add(String algorithmID, String problemName, long time)
+		{
+			String key = algorithmID + "\t" + problemName;
+			double[] t = times.get(key);
+			if (t == null)
+				times.put(key, new double[] {time, 1});
+			else
+			{
+				t[1]++;
+				t[0] += (time - t[0]) / t[1];
+			}
+		}
+
+		public void save()
+		{
+			try (BufferedWriter writer = new BufferedWriter(new FileWriter(path + ".txt")))
+			{
+				for (Map.Entry<String, double[]> entry : times.entrySet())
+					writer.write(entry.getKey() + "\t" + entry.getValue()[0] + "\t" + (long) entry.getValue()[1] + "\n");
+			}
+			catch (Exception e)
+			{
+				e.printStackTrace();
+			}
+		}
+	}
+
+	/**
+	 * Final result of a run.
+	 */
+	public static class AlgorithmResult
+	{
+		public double fbest;
+		public int repNr;
+		public long time; // elapsed time (ms)
+		public int savedEvaluations; // budget left when the run was stopped by the convergence detector
+		public int restarts; // restarts triggered by the convergence detector
+		public long cacheHits; // fitness values taken from the cache (see CachedProblem)
+		public long cacheMisses;
+
+		public AlgorithmResult(double fbest, int repNr)
+		{
+			this.fbest = fbest;
+			this.repNr = repNr;
+		}
+
+		public AlgorithmResult(double fbest, int repNr, long time)
+		{
+			this(fbest, repNr);
+			this.time = time;
+		}
+	}
+
+	/**
+	 * Fitness trend: (evaluation counter, best fitness) pairs.
+	 *
+	 * Pairs are stored in primitive arrays (no boxing, no locks: a trend belongs to a single run).
+	 * By default every pair is kept. With a resolution (points per decade of the evaluation counter) only log-spaced checkpoints are kept:
+	 * the evaluation counter is divided into the intervals [10^(b/resolution) - 1, 10^((b+1)/resolution) - 1) and, for each of them, only the last pair added
+	 * is stored. Memory is then bounded (at most about 10 * resolution pairs for int counters) regardless of the budget, and the last pair added is always kept.
+	 */
+	public static class FTrend
+	{
+		private int[] index = new int[16];
+		private double[] fValue = new double[16];
+		private int size = 0;
+		private final int resolution; // checkpoints per decade, 0 for keeping every pair
+		private long nextCheckpoint = 0; // first evaluation counter of the next interval (bounded mode)
+
+		private static final ThreadLocal<Integer> threadResolution = ThreadLocal.withInitial(() -> 0);
+
+		/**
+		 * Resolution of the trends created by the calling thread with the default constructor (used by AlgorithmRepetitionThread for the duration of a run).
+		 */
+		public static void setThreadResolution(int resolution) { threadResolution.set(resolution); }
+
+		/**
+		 * Trend with the resolution of the calling thread (by default every pair is kept).
+		 */
+		public FTrend()
+		{
+			this(threadResolution.get());
+		}
+
+		/**
+		 * @param resolution number of log-spaced checkpoints per decade of the evaluation counter (0 for keeping every pair).
+		 */
+		public FTrend(int resolution)
+		{
+			this.resolution = resolution;
+		}
+
+		public int getResolution() { return resolution; }
+
+		/**
+		 * Fitness values (copy).
+		 */
+		public Vector<Double> getF()
+		{
+			Vector<Double> v = new Vector<Double>(size);
+			for (int i = 0; i < size; i++)
+				v.add(fValue[i]);
+			return v;
+		}
+
+		public double getF(int i)
+		{
+			if (i >= size)
+				throw new ArrayIndexOutOfBoundsException(i);
+			return fValue[i];
+		}
+
+		/**
+		 * Evaluation counters (copy).
+		 */
+		public Vector<Integer> getI()
+		{
+			Vector<Integer> v = new Vector<Integer>(size);
+			for (int i = 0; i < size; i++)
+				v.add(index[i]);
+			return v;
+		}
+
+		public int getI(int i)
+		{
+			if (i >= size)
+				throw new ArrayIndexOutOfBoundsException(i);
+			return index[i];
+		}
+
+		public void add(int i, double f)
+		{
+			if (resolution > 0 && size > 0 && i < nextCheckpoint)
+			{
+				// same interval of the last pair: replace it
+				index[size - 1] = i;
+				fValue[size - 1] = f;
+				return;
+			}
+			if (size == index.length)
+			{
+				index = Arrays.copyOf(index, 2 * size);
+				fValue = Arrays.copyOf(fValue, 2 * size);
+			}
+			index[size] = i;
+			fValue[size] = f;
+			size++;
+			if (resolution > 0)
+				nextCheckpoint = checkpointAfter(i);
+		}
+
+		/**
+		 * First evaluation counter of the interval following the one of i.
+		 */
+		private long checkpointAfter(int i)
+		{
+			int b = (int) Math.floor(resolution * Math.log10(i + 1.0));
+			long next = (long) Math.ceil(Math.pow(10.0, (b + 1.0) / resolution)) - 1;
+			while (next <= i)
+				next = (long) Math.ceil(Math.pow(10.0, (++b + 1.0) / resolution)) - 1;
+			return next;
+		}
+
+		public void merge(FTrend FT, int offset)
+		{
+			for (int i = 0; i < FT.size(); i++)
+				add(offset + FT.getI(i), FT.getF(i));
+		}
+
+		public String toString()
+		{
+			StringBuilder s = new StringBuilder();
+			for (int i = 0; i < size - 1; i++)
+				s.append(index[i]).append('\t').append(fValue[i]).append('\n');
+			s.append(getI(size - 1)).append('\t').append(fValue[size - 1]);
+			return s.toString();
+		}
+
+		public String toString(int i)
+		{
+			return "" + getI(i) + "\t" + format(fValue[i]);
+		}
+
+		public int size() { return size; }
+	}
+
+	/**
+	 * A single run of an algorithm on a problem.
+	 * The run draws its random numbers from a RandomStream derived from (seed, algorithm ID, problem, run index).
+	 */
+	public static class AlgorithmRepetitionThread implements Callable<AlgorithmResult>
+	{
+		Algorithm algorithm;
+		private Problem problem;
+		private int repNr;
+		private int budget;
+		private boolean saveRowData;
+		private boolean showElapsedTime = false;
+		private String expFolder = ".";
+		private long seed = RandUtils.getSeed();
+		private ForkJoinPool evaluationPool = null;
+		private int trendResolution = 0;
+		private TrendStore trendStore = null;
+		private int cacheSize = 0;
+		private CachedProblem cache = null; // cache of the last run
+
+		public AlgorithmRepetitionThread(Algorithm algorithm, Problem problem, int repNr)
+		{
+			this.algorithm = algorithm;
+			this.problem = problem;
+			this.repNr = repNr;
+		}
+
+		public AlgorithmRepetitionThread(Algorithm algorithm, Problem problem, int repNr, int budgetFactor, boolean saveRowData, String expFolder)
+		{
+			this.algorithm = algorithm;
+			this.problem = problem;
+			this.repNr = repNr;
+			this.budget = budgetFactor * problem.getDimension();
+			this.saveRowData = saveRowData;
+			this.expFolder = expFolder;
+		}
+
+		public void setBudget(int budget) { this.budget = budget; }
+
+		public int getBudget() { return budget; }
+
+		public int getRepNr() { return repNr; }
+
+		public void setExpFolder(String expFolder) { this.expFolder = expFolder; }
+
+		public String getExpFolder() { return expFolder; }
+
+		public void saveRowData(boolean saveRowData) { this.saveRowData = saveRowData; }
+
+		public void showElapsedTime(boolean showElapsedTime) { this.showElapsedTime = showElapsedTime; }
+
+		/**
+		 * Seed from which the random number stream of the run is derived.
+		 */
+		public void setSeed(long seed) { this.seed = seed; }
+
+		public long getSeed() { return seed; }
+
+		/**
+		 * Evaluate the batches of solutions of the run (e.g. a generation of DE, a population of CMAES) in parallel on the given pool
+		 * (null: sequential evaluation). Results are the same in both cases.
+		 */
+		public void setEvaluationPool(ForkJoinPool evaluationPool) { this.evaluationPool = evaluationPool; }
+
+		/**
+		 * Keep only log-spaced checkpoints of the fitness trend (see FTrend), 0 for keeping every pair.
+		 */
+		public void setTrendResolution(int trendResolution) { this.trendResolution = trendResolution; }
+
+		/**
+		 * Save the fitness trend in the given binary store instead of a text file (null: text file).
+		 */
+		public void setTrendStore(TrendStore trendStore) { this.trendStore = trendStore; }
+
+		/**
+		 * Memoise the fitness values of the run in a cache of the given number of points (see CachedProblem), 0 for no cache.
+		 */
+		public void setCacheSize(int cacheSize) { this.cacheSize = cacheSize; }
+
+		@Override
+		public AlgorithmResult call() throws Exception
+		{
+			long t0 = System.currentTimeMillis();
+			double fbest = runAlgorithmRepetition(algorithm, problem, repNr);
+			AlgorithmResult result = new AlgorithmResult(fbest, repNr, System.currentTimeMillis() - t0);
+			ConvergenceDetector detector = algorithm.getConvergenceDetector();
+			if (detector != null)
+			{
+				result.savedEvaluations = detector.getSavedEvaluations();
+				result.restarts = detector.getRestarts();
+			}
+			if (cache != null)
+			{
+				result.cacheHits = cache.getHits();
+				result.cacheMisses = cache.getMisses();
+			}
+			return result;
+		}
+
+		public Algorithm getAlgorithm() { return algorithm; }
+
+		public Problem getProblem() { return problem; }
+
+		/**
+		 * Name of the problem, as used for the results folders.
+		 */
+		public String getProblemName() { return problemName(problem); }
+
+		public double runAlgorithmRepetition(Algorithm algorithm, Problem problem, int repNr) throws Exception
+		{
+			String slash = slash();
+			String problemName = problemName(problem);
+			RandomStream rng = RandomStream.derive(seed, algorithm.getID(), problemName, repNr);
+
+			long t0 = System.currentTimeMillis();
+			Problem evaluated = problem;
+			cache = null;
+			if (cacheSize > 0)
+				evaluated = cache = new CachedProblem(problem, cacheSize);
+			if (evaluationPool != null)
+				evaluated = new ParallelProblem(evaluated, evaluationPool);
+			FTrend.setThreadResolution(trendResolution);
+			FTrend FT;
+			try
+			{
+				FT = algorithm.execute(evaluated, budget, rng);
+			}
+			finally
+			{
+				FTrend.setThreadResolution(0);
+			}
+			long t1 = System.currentTimeMillis();
+
+			if (saveRowData)
+			{
+				if (trendStore != null)
+					trendStore.append(algorithm.getID(), problemName, repNr, FT, algorithm.getFinalBest());
+				else
+					saveTrend(FT, algorithm.getFinalBest(), resultsFolder + slash + expFolder + slash + algorithm.getID() + slash + problemName + slash + repNr, true);
+			}
+
+			int n = FT.size();
+			if (showElapsedTime)
+			{
+				System.out.println(FT.toString(n - 1));
+				System.out.println("Elapsed time: " + (t1 - t0) + " ms.");
+			}
+			return FT.getF(n - 1);
+		}
+	}
+}
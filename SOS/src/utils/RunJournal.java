@@ -0,0 +1,156 @@
+package utils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only binary journal of the completed runs of an experiment.
+ *
+ * Every run is appended (and forced to disk) as soon as it is over, so that an interrupted experiment can be resumed:
+ * runs found in the journal are not executed again and their results are read from it.
+ * Record layout: length of the payload (int), payload, CRC32 of the payload (long). The payload holds algorithm ID, parameter
+ * setting of the algorithm, problem name, run index, budget, seed, final fitness value and running time. When the journal is opened, a truncated or corrupted
+ * tail (e.g. left by a crash while writing) is discarded.
+ * A journal file must be opened by a single instance at a time (appends are serialised by the instance, not across instances).
+ */
+public class RunJournal
+{
+	private final RandomAccessFile file;
+	private final HashMap<String, Entry> entries = new HashMap<String, Entry>();
+	private Long seed = null; // seed of the first record
+
+	/**
+	 * A completed run.
+	 */
+	public static class Entry
+	{
+		public final String algorithmID;
+		public final String parSetting;
+		public final String problemName;
+		public final int run;
+		public final int budget;
+		public final long seed;
+		public final double fbest;
+		public final long time;
+
+		public Entry(String algorithmID, String parSetting, String problemName, int run, int budget, long seed, double fbest, long time)
+		{
+			this.algorithmID = algorithmID;
+			this.parSetting = parSetting;
+			this.problemName = problemName;
+			this.run = run;
+			this.budget = budget;
+			this.seed = seed;
+			this.fbest = fbest;
+			this.time = time;
+		}
+	}
+
+	/**
+	 * Open (or create) a journal and load its records.
+	 *
+	 * @param path file name (without extension).
+	 */
+	public RunJournal(String path) throws IOException
+	{
+		file = new RandomAccessFile(new File(path + ".bin"), "rw");
+		long valid = 0;
+		long length = file.length();
+		while (valid + 4 <= length)
+		{
+			file.seek(valid);
+			int size = file.readInt();
+			if (size <= 0 || valid + 4 + size + 8 > length)
+				break;
+			byte[] payload = new byte[size];
+			file.readFully(payload);
+			if (file.readLong() != checksum(payload))
+				break;
+			Entry entry = decode(payload);
+			if (seed == null)
+				seed = entry.seed;
+			entries.put(key(entry.algorithmID, entry.parSetting, entry.problemName, entry.run, entry.budget, entry.seed), entry);
+			valid += 4 + size + 8;
+		}
+		if (valid != length)
+			file.setLength(valid);
+		file.seek(valid);
+	}
+
+	/**
+	 * Completed run with the given settings, null if it is not in the journal.
+	 */
+	public synchronized Entry get(String algorithmID, String parSetting, String problemName, int run, int budget, long seed)
+	{
+		return entries.get(key(algorithmID, parSetting, problemName, run, budget, seed));
+	}
+
+	public synchronized int size() { return entries.size(); }
+
+	/**
+	 * Seed of the experiment that started the journal (the seed of its first record), null if the journal is empty.
+	 */
+	public synchronized Long getSeed() { return seed; }
+
+	/**
+	 * Append a completed run and force it to disk.
+	 */
+	public synchronized void append(Entry entry) throws IOException
+	{
+		byte[] payload = encode(entry);
+		ByteBuffer record = ByteBuffer.allocate(4 + payload.length + 8);
+		record.putInt(payload.length).put(payload).putLong(checksum(payload));
+		file.write(record.array());
+		file.getChannel().force(false);
+		if (seed == null)
+			seed = entry.seed;
+		entries.put(key(entry.algorithmID, entry.parSetting, entry.problemName, entry.run, entry.budget, entry.seed), entry);
+	}
+
+	public synchronized void close() throws IOException
+	{
+		file.close();
+	}
+
+	private static String key(String algorithmID, String parSetting, String problemName, int run, int budget, long seed)
+	{
+		return algorithmID + "\t" + parSetting + "\t" + problemName + "\t" + run + "\t" + budget + "\t" + seed;
+	}
+
+	private static long checksum(byte[] payload)
+	{
+		CRC32 crc = new CRC32();
+		crc.update(payload, 0, payload.length);
+		return crc.getValue();
+	}
+
+	private static byte[] encode(Entry entry) throws IOException
+	{
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		out.writeUTF(entry.algorithmID);
+		out.writeUTF(entry.parSetting);
+		out.writeUTF(entry.problemName);
+		out.writeInt(entry.run);
+		out.writeInt(entry.budget);
+		out.writeLong(entry.seed);
+		out.writeDouble(entry.fbest);
+		out.writeLong(entry.time);
+		out.close();
+		return bytes.toByteArray();
+	}
+
+	private static Entry decode(byte[] payload) throws IOException
+	{
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+		return new Entry(in.readUTF(), in.readUTF(), in.readUTF(), in.readInt(), in.readInt(), in.readLong(), in.readDouble(), in.readLong());
+	}
+}
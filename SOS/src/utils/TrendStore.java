@@ -0,0 +1,359 @@
+package utils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import utils.RunAndStore.FTrend;
+
+/**
+ * Binary store of the fitness trends of an experiment (one file for all the runs, instead of a text file per run).
+ *
+ * Trends are appended as soon as runs end. Each run is a compressed columnar block: evaluation counters (delta-encoded ints),
+ * fitness values (each XOR-ed with the previous one, so that the repeated sign/exponent bits of a converging trend compress well)
+ * and the final best solution. Record layout of the data file (".bin"): length of the payload (int), payload, CRC32 of the payload (long);
+ * the payload holds algorithm ID, problem name, run index, number of pairs, dimension, uncompressed size and the deflated columns.
+ * The index file (".idx") holds the position of each record, for random access to a single run. When the store is opened, an index
+ * that does not match the data file (e.g. after a crash) is rebuilt by scanning the records, and a truncated or corrupted tail is discarded.
+ * If a run is stored more than once, the last record is the one returned.
+ *
+ * The text files of the runs (the format of RunAndStore.saveTrend, read by the R scripts) can be produced on demand with exportText.
+ */
+public class TrendStore
+{
+	private final RandomAccessFile data;
+	private final RandomAccessFile index;
+	private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<String, Entry>();
+	private long end = 0; // length of the valid part of the data file
+
+	/**
+	 * Position of a stored run.
+	 */
+	public static class Entry
+	{
+		public final String algorithmID;
+		public final String problemName;
+		public final int run;
+		private final long offset;
+		private final int length;
+
+		Entry(String algorithmID, String problemName, int run, long offset, int length)
+		{
+			this.algorithmID = algorithmID;
+			this.problemName = problemName;
+			this.run = run;
+			this.offset = offset;
+			this.length = length;
+		}
+	}
+
+	/**
+	 * A stored run: fitness trend and final best solution.
+	 */
+	public static class Trend
+	{
+		public final FTrend FT;
+		public final double[] best;
+
+		Trend(FTrend FT, double[] best)
+		{
+			this.FT = FT;
+			this.best = best;
+		}
+	}
+
+	/**
+	 * Open (or create) a store and load its index.
+	 *
+	 * @param path file name (without extension).
+	 */
+	public TrendStore(String path) throws IOException
+	{
+		data = new RandomAccessFile(new File(path + ".bin"), "rw");
+		index = new RandomAccessFile(new File(path + ".idx"), "rw");
+		if (!loadIndex())
+			rebuildIndex();
+		data.seek(end);
+		index.seek(index.length());
+	}
+
+	/**
+	 * Append the trend of a completed run. Encoding and compression are done by the calling thread, only the write is serialised.
+	 *
+	 * @param algorithmID ID of the algorithm.
+	 * @param problemName name of the problem (see RunAndStore.problemName).
+	 * @param run run index.
+	 * @param FT fitness trend.
+	 * @param best final best solution (null if not available).
+	 */
+	public void append(String algorithmID, String problemName, int run, FTrend FT, double[] best) throws IOException
+	{
+		byte[] payload = encode(algorithmID, problemName, run, FT, (best != null) ? best : new double[0]);
+		ByteBuffer record = ByteBuffer.allocate(4 + payload.length + 8);
+		record.putInt(payload.length).put(payload).putLong(checksum(payload));
+
+		synchronized (this)
+		{
+			Entry entry = new Entry(algorithmID, problemName, run, end, record.capacity());
+			data.seek(end);
+			data.write(record.array());
+			data.getChannel().force(false);
+			end += record.capacity();
+			writeIndex(entry);
+			entries.put(key(algorithmID, problemName, run), entry);
+		}
+	}
+
+	/**
+	 * Stored run, null if it is not in the store.
+	 */
+	public Trend get(String algorithmID, String problemName, int run) throws IOException
+	{
+		byte[] payload;
+		synchronized (this)
+		{
+			Entry entry = entries.get(key(algorithmID, problemName, run));
+			if (entry == null)
+				return null;
+			payload = readPayload(entry.offset);
+		}
+		if (payload == null)
+			throw new IOException("Corrupted record of run " + run + " of " + algorithmID + " on " + problemName);
+		return decode(payload);
+	}
+
+	/**
+	 * Stored runs, in order of completion.
+	 */
+	public synchronized List<Entry> entries()
+	{
+		return new ArrayList<Entry>(entries.values());
+	}
+
+	public synchronized int size() { return entries.size(); }
+
+	/**
+	 * Write the text file of every stored run, with the layout of the text trends of an experiment: folder/algorithm ID/problem name/run.txt.
+	 *
+	 * @param folder experiment folder.
+	 */
+	public void exportText(String folder) throws IOException
+	{
+		String slash = RunAndStore.slash();
+		for (Entry entry : entries())
+		{
+			String path = folder + slash + entry.algorithmID + slash + entry.problemName;
+			new File(path).mkdirs();
+			Trend trend = get(entry.algorithmID, entry.problemName, entry.run);
+			RunAndStore.saveTrend(trend.FT, trend.best, path + slash + entry.run, true);
+		}
+	}
+
+	public synchronized void close() throws IOException
+	{
+		data.close();
+		index.close();
+	}
+
+	/**
+	 * Read the index file, false if it does not match the data file.
+	 */
+	private boolean loadIndex() throws IOException
+	{
+		long length = data.length();
+		if (index.length() == 0)
+			return length == 0;
+		byte[] bytes = new byte[(int) index.length()];
+		index.seek(0);
+		index.readFully(bytes);
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+		try
+		{
+			while (in.available() > 0)
+			{
+				Entry entry = new Entry(in.readUTF(), in.readUTF(), in.readInt(), in.readLong(), in.readInt());
+				if (entry.offset != end)
+					return false;
+				end += entry.length;
+				entries.put(key(entry.algorithmID, entry.problemName, entry.run), entry);
+			}
+		}
+		catch (IOException e)
+		{
+			return false; // truncated index
+		}
+		return end == length;
+	}
+
+	/**
+	 * Scan the data file, drop its invalid tail and write the index again.
+	 */
+	private void rebuildIndex() throws IOException
+	{
+		entries.clear();
+		end = 0;
+		index.setLength(0);
+		long length = data.length();
+		while (true)
+		{
+			byte[] payload = readPayload(end);
+			if (payload == null)
+				break;
+			DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+			Entry entry = new Entry(in.readUTF(), in.readUTF(), in.readInt(), end, 4 + payload.length + 8);
+			end += entry.length;
+			writeIndex(entry);
+			entries.put(key(entry.algorithmID, entry.problemName, entry.run), entry);
+		}
+		if (end != length)
+			data.setLength(end);
+	}
+
+	/**
+	 * Payload of the record at the given position, null if the record is truncated or corrupted.
+	 */
+	private byte[] readPayload(long offset) throws IOException
+	{
+		long length = data.length();
+		if (offset + 4 > length)
+			return null;
+		data.seek(offset);
+		int size = data.readInt();
+		if (size <= 0 || offset + 4 + size + 8 > length)
+			return null;
+		byte[] payload = new byte[size];
+		data.readFully(payload);
+		if (data.readLong() != checksum(payload))
+			return null;
+		return payload;
+	}
+
+	private void writeIndex(Entry entry) throws IOException
+	{
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		out.writeUTF(entry.algorithmID);
+		out.writeUTF(entry.problemName);
+		out.writeInt(entry.run);
+		out.writeLong(entry.offset);
+		out.writeInt(entry.length);
+		out.close();
+		index.write(bytes.toByteArray());
+	}
+
+	private static String key(String algorithmID, String problemName, int run)
+	{
+		return algorithmID + "\t" + problemName + "\t" + run;
+	}
+
+	private static long checksum(byte[] payload)
+	{
+		CRC32 crc = new CRC32();
+		crc.update(payload, 0, payload.length);
+		return crc.getValue();
+	}
+
+	private static byte[] encode(String algorithmID, String problemName, int run, FTrend FT, double[] best) throws IOException
+	{
+		int n = FT.size();
+		ByteBuffer columns = ByteBuffer.allocate(4 * n + 8 * n + 8 * best.length);
+		int previousI = 0;
+		for (int i = 0; i < n; i++)
+		{
+			columns.putInt(FT.getI(i) - previousI);
+			previousI = FT.getI(i);
+		}
+		long previousF = 0;
+		for (int i = 0; i < n; i++)
+		{
+			long bits = Double.doubleToRawLongBits(FT.getF(i));
+			columns.putLong(bits ^ previousF);
+			previousF = bits;
+		}
+		for (int j = 0; j < best.length; j++)
+			columns.putDouble(best[j]);
+
+		byte[] raw = columns.array();
+		Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+		deflater.setInput(raw);
+		deflater.finish();
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(raw.length / 4 + 64);
+		DataOutputStream out = new DataOutputStream(bytes);
+		out.writeUTF(algorithmID);
+		out.writeUTF(problemName);
+		out.writeInt(run);
+		out.writeInt(n);
+		out.writeInt(best.length);
+		out.writeInt(raw.length);
+		byte[] buffer = new byte[8192];
+		while (!deflater.finished())
+			out.write(buffer, 0, deflater.deflate(buffer));
+		deflater.end();
+		out.close();
+		return bytes.toByteArray();
+	}
+
+	private static Trend decode(byte[] payload) throws IOException
+	{
+		ByteArrayInputStream bytes = new ByteArrayInputStream(payload);
+		DataInputStream in = new DataInputStream(bytes);
+		in.readUTF();
+		in.readUTF();
+		in.readInt();
+		int n = in.readInt();
+		int dimension = in.readInt();
+		byte[] raw = new byte[in.readInt()];
+		int header = payload.length - bytes.available();
+
+		Inflater inflater = new Inflater();
+		inflater.setInput(payload, header, payload.length - header);
+		try
+		{
+			int filled = 0;
+			while (filled < raw.length && !inflater.finished())
+				filled += inflater.inflate(raw, filled, raw.length - filled);
+			if (filled != raw.length)
+				throw new IOException("Truncated trend block");
+		}
+		catch (DataFormatException e)
+		{
+			throw new IOException(e);
+		}
+		finally
+		{
+			inflater.end();
+		}
+
+		ByteBuffer columns = ByteBuffer.wrap(raw);
+		int[] I = new int[n];
+		int previousI = 0;
+		for (int i = 0; i < n; i++)
+		{
+			previousI += columns.getInt();
+			I[i] = previousI;
+		}
+		FTrend FT = new FTrend(0);
+		long previousF = 0;
+		for (int i = 0; i < n; i++)
+		{
+			previousF ^= columns.getLong();
+			FT.add(I[i], Double.longBitsToDouble(previousF));
+		}
+		double[] best = new double[dimension];
+		for (int j = 0; j < dimension; j++)
+			best[j] = columns.getDouble();
+		return new Trend(FT, best);
+	}
+}
@@ -0,0 +1,118 @@
+package utils.algorithms;
+
+/**
+ * Bounds of the search space with their ranges and reciprocals precomputed, for the corrections applied in the main loops
+ * (toroidal correction and saturation) without allocations and, for the moves along a single axis, on a single design variable.
+ *
+ * The toroidal correction leaves the values within the bounds untouched and normalises with the reciprocal of the range the others only,
+ * hence it is not bit-identical to Misc.toro (which rescales every value, rounding it): results differ at the last digits.
+ * The saturation is the same of Misc.saturate.
+ */
+public class Bounds
+{
+	private final double[] lower;
+	private final double[] upper;
+	private final double[] range;
+	private final double[] reciprocal;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param bounds search space boundaries (general case).
+	 */
+	public Bounds(double[][] bounds)
+	{
+		int n = bounds.length;
+		lower = new double[n];
+		upper = new double[n];
+		range = new double[n];
+		reciprocal = new double[n];
+		for (int i = 0; i < n; i++)
+		{
+			lower[i] = bounds[i][0];
+			upper[i] = bounds[i][1];
+			range[i] = upper[i] - lower[i];
+			reciprocal[i] = 1.0 / range[i];
+		}
+	}
+
+	public int getDimension() { return lower.length; }
+
+	public double getLower(int i) { return lower[i]; }
+
+	public double getUpper(int i) { return upper[i]; }
+
+	public double getRange(int i) { return range[i]; }
+
+	/**
+	 * Toroidal correction of the i-th design variable.
+	 *
+	 * @param x value to be corrected.
+	 * @param i index of the design variable.
+	 * @return corrected value.
+	 */
+	public double toro(double x, int i)
+	{
+		if (x >= lower[i] && x <= upper[i])
+			return x;
+		double r = (x - lower[i]) * reciprocal[i];
+		if (r > 1)
+			r = r - Misc.fix(r);
+		else if (r < 0)
+			r = 1 - Math.abs(r - Misc.fix(r));
+		return r * range[i] + lower[i];
+	}
+
+	/**
+	 * Toroidal correction (in place).
+	 *
+	 * @param x solution to be corrected.
+	 * @return x corrected solution.
+	 */
+	public double[] toro(double[] x)
+	{
+		for (int i = 0; i < x.length; i++)
+			x[i] = toro(x[i], i);
+		return x;
+	}
+
+	/**
+	 * Toroidal correction, without allocations.
+	 *
+	 * @param x solution to be corrected.
+	 * @param x_tor array where the corrected solution is stored (it can be x itself).
+	 * @return x_tor corrected solution.
+	 */
+	public double[] toro(double[] x, double[] x_tor)
+	{
+		for (int i = 0; i < x.length; i++)
+			x_tor[i] = toro(x[i], i);
+		return x_tor;
+	}
+
+	/**
+	 * Saturation of the i-th design variable.
+	 *
+	 * @param x value to be saturated.
+	 * @param i index of the design variable.
+	 * @return saturated value.
+	 */
+	public double saturate(double x, int i)
+	{
+		double y = (x > lower[i]) ? x : lower[i];
+		return (y <= upper[i]) ? y : upper[i];
+	}
+
+	/**
+	 * Saturation on bounds (in place).
+	 *
+	 * @param x solution to be saturated.
+	 * @return x saturated solution.
+	 */
+	public double[] saturate(double[] x)
+	{
+		for (int i = 0; i < x.length; i++)
+			x[i] = saturate(x[i], i);
+		return x;
+	}
+}
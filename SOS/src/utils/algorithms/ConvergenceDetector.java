@@ -0,0 +1,167 @@
+package utils.algorithms;
+
+/**
+ * Detection of runs that cannot make further progress, so that they can be stopped (saving the rest of the budget) or restarted.
+ *
+ * A run is considered converged when:
+ * - the step sizes of a local search (e.g. the exploratory radius of S) no longer move the current solution (floating-point underflow), or
+ * - the population of a population-based algorithm has collapsed: its spread along every variable is below a fraction of the range of the variable, or
+ * - the best fitness value has not improved (by more than a relative tolerance) within the last stagnation window of evaluations (if enabled).
+ *
+ * Algorithms call one of the "converged" methods at the end of each iteration (e.g. a sweep of S, a generation of DE) and then either stop
+ * (calling stop, which records the evaluations saved) or apply their restart (calling restarted), according to the policy.
+ * A detector holds the state of a single run: runs executed in parallel use separate copies (see copy and Algorithm.copy).
+ */
+public class ConvergenceDetector
+{
+	public enum Policy { STOP, RESTART }
+
+	private final Policy policy;
+	private final double diversityTolerance;
+	private final int stagnationWindow;
+	private final double stagnationTolerance;
+
+	// state of the run
+	private double reference; // best fitness value at the last significant improvement
+	private int lastImprovement; // evaluation counter of the last significant improvement
+	private int savedEvaluations;
+	private int restarts;
+
+	/**
+	 * @param policy what the algorithm does once converged.
+	 * @param diversityTolerance collapse threshold of the population spread, relative to the range of each variable.
+	 * @param stagnationWindow number of evaluations without improvement after which the run is converged (0 for no stagnation detection).
+	 * @param stagnationTolerance minimum relative improvement of the best fitness value.
+	 */
+	public ConvergenceDetector(Policy policy, double diversityTolerance, int stagnationWindow, double stagnationTolerance)
+	{
+		this.policy = policy;
+		this.diversityTolerance = diversityTolerance;
+		this.stagnationWindow = stagnationWindow;
+		this.stagnationTolerance = stagnationTolerance;
+		reset();
+	}
+
+	/**
+	 * Detector of underflowing step sizes and collapsed populations (relative spread below 1e-12), without stagnation detection.
+	 */
+	public ConvergenceDetector(Policy policy)
+	{
+		this(policy, 1e-12, 0, 1e-12);
+	}
+
+	/**
+	 * Detector with the same settings and a new state.
+	 */
+	public ConvergenceDetector copy()
+	{
+		return new ConvergenceDetector(policy, diversityTolerance, stagnationWindow, stagnationTolerance);
+	}
+
+	/**
+	 * Clear the state (at the beginning of a run).
+	 */
+	public void reset()
+	{
+		reference = Double.NaN;
+		lastImprovement = 0;
+		savedEvaluations = 0;
+		restarts = 0;
+	}
+
+	public Policy getPolicy() { return policy; }
+
+	/**
+	 * Evaluations left when the run was stopped (0 if it used its whole budget).
+	 */
+	public int getSavedEvaluations() { return savedEvaluations; }
+
+	public int getRestarts() { return restarts; }
+
+	/**
+	 * Stagnation check.
+	 *
+	 * @param k evaluation counter.
+	 * @param fBest best fitness value so far.
+	 */
+	public boolean converged(int k, double fBest)
+	{
+		if (Double.isNaN(reference) || fBest < reference - stagnationTolerance * Math.max(Math.abs(reference), Double.MIN_NORMAL))
+		{
+			reference = fBest;
+			lastImprovement = k;
+			return false;
+		}
+		return stagnationWindow > 0 && k - lastImprovement >= stagnationWindow;
+	}
+
+	/**
+	 * Step size underflow and stagnation check of a local search.
+	 *
+	 * @param k evaluation counter.
+	 * @param fBest best fitness value so far.
+	 * @param x current solution.
+	 * @param radius step sizes along each variable.
+	 */
+	public boolean converged(int k, double fBest, double[] x, double[] radius)
+	{
+		boolean stagnated = converged(k, fBest);
+		if (stagnated)
+			return true;
+		for (int i = 0; i < x.length; i++)
+			if (x[i] + radius[i] != x[i] || x[i] - radius[i] != x[i])
+				return false;
+		return true;
+	}
+
+	/**
+	 * Population collapse and stagnation check.
+	 *
+	 * @param k evaluation counter.
+	 * @param fBest best fitness value so far.
+	 * @param population current population.
+	 * @param bounds bounds of the variables.
+	 */
+	public boolean converged(int k, double fBest, Population population, double[][] bounds)
+	{
+		boolean stagnated = converged(k, fBest);
+		if (stagnated)
+			return true;
+		int n = population.size();
+		int dim = population.getDimension();
+		double[] x = population.data();
+		for (int j = 0; j < dim; j++)
+		{
+			double min = x[j];
+			double max = x[j];
+			for (int i = 1; i < n; i++)
+			{
+				double value = x[i * dim + j];
+				if (value < min)
+					min = value;
+				else if (value > max)
+					max = value;
+			}
+			if (max - min > diversityTolerance * (bounds[j][1] - bounds[j][0]))
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * The run stops at evaluation k.
+	 */
+	public void stop(int k, int maxEvaluations)
+	{
+		savedEvaluations = Math.max(0, maxEvaluations - k);
+	}
+
+	/**
+	 * The run has been restarted at evaluation k (the stagnation window starts again).
+	 */
+	public void restarted(int k)
+	{
+		restarts++;
+		lastImprovement = k;
+	}
+}
@@ -74,6 +74,22 @@ public class Misc
 		return r; // Return the randomly generated points
 	}
 	
+	/**
+	 * Random point in bounds (in place, no memory is allocated).
+	 * 
+	 * @param bounds search space boundaries (general case).
+	 * @param n problem dimension.
+	 * @param r array where the randomly generated point is stored.
+	 * @return r randomly generated point.
+	 */
+	public static double[] generateRandomSolution(double[][] bounds, int n, double[] r)
+	{
+		for (int i = 0; i < n; i++) // For the dimensionality of the problem, do the following
+			r[i] = bounds[i][0] + (bounds[i][1] - bounds[i][0]) * RandUtils.random(); // Generate and calculate a point in between the specific problem search space (generic), randomly, for each variable in the problem domain
+	
+		return r; // Return the randomly generated points
+	}
+	
 	/**
 	 * Random point in bounds.
 	 * 
@@ -0,0 +1,148 @@
+package utils.algorithms;
+
+import utils.random.IndexSampler;
+import utils.random.RandomStream;
+
+/**
+ * Population of solutions stored in a single contiguous array.
+ *
+ * The i-th individual occupies the positions [i*dim, (i+1)*dim) of the backing array (row-major order), so that
+ * the whole population is one object and individuals are read sequentially by the operators below.
+ * Each individual also has its fitness value.
+ */
+public class Population
+{
+	private final int size;
+	private final int dim;
+	private final double[] x;
+	private final double[] fitness;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param size number of individuals.
+	 * @param dim problem dimension.
+	 */
+	public Population(int size, int dim)
+	{
+		this.size = size;
+		this.dim = dim;
+		this.x = new double[size * dim];
+		this.fitness = new double[size];
+	}
+
+	public int size() { return size; }
+
+	public int getDimension() { return dim; }
+
+	/**
+	 * Backing array (individual i starts at position offset(i)).
+	 */
+	public double[] data() { return x; }
+
+	public int offset(int i) { return i * dim; }
+
+	public double get(int i, int j) { return x[i * dim + j]; }
+
+	public void set(int i, int j, double value) { x[i * dim + j] = value; }
+
+	public double getFitness(int i) { return fitness[i]; }
+
+	public void setFitness(int i, double f) { fitness[i] = f; }
+
+	/**
+	 * Copy an individual into an array.
+	 *
+	 * @param i index of the individual.
+	 * @param out destination array.
+	 * @return out.
+	 */
+	public double[] getRow(int i, double[] out)
+	{
+		System.arraycopy(x, i * dim, out, 0, dim);
+		return out;
+	}
+
+	/**
+	 * Overwrite an individual.
+	 *
+	 * @param i index of the individual.
+	 * @param row new solution.
+	 * @param f fitness value of the new solution.
+	 */
+	public void setRow(int i, double[] row, double f)
+	{
+		System.arraycopy(row, 0, x, i * dim, dim);
+		fitness[i] = f;
+	}
+
+	/**
+	 * Copy the i-th individual of another population (with the same dimension) into position j.
+	 */
+	public void copyRow(Population from, int i, int j)
+	{
+		System.arraycopy(from.x, i * dim, x, j * dim, dim);
+		fitness[j] = from.fitness[i];
+	}
+
+	/**
+	 * DE/rand/1 mutation: out = x_r1 + F * (x_r2 - x_r3), where r1, r2, r3 are three distinct random individuals (O(1) random draws).
+	 *
+	 * @param F scale factor.
+	 * @param rng random number stream of the run.
+	 * @param sampler sampler of distinct indices (of size equal to the population size).
+	 * @param r buffer for the indices drawn (length at least 3).
+	 * @param out array where the mutant is stored.
+	 * @return out.
+	 */
+	public double[] randOneMutation(double F, RandomStream rng, IndexSampler sampler, int[] r, double[] out)
+	{
+		sampler.sample(rng, 3, -1, r);
+		int r1 = r[0] * dim;
+		int r2 = r[1] * dim;
+		int r3 = r[2] * dim;
+		for (int j = 0; j < dim; j++)
+			out[j] = x[r1 + j] + F * (x[r2 + j] - x[r3 + j]);
+		return out;
+	}
+
+	/**
+	 * Binomial crossover between the i-th individual and a mutant.
+	 *
+	 * @param i index of the parent.
+	 * @param mutant mutant solution.
+	 * @param CR crossover rate.
+	 * @param rng random number stream of the run.
+	 * @param out array where the offspring is stored.
+	 * @return out.
+	 */
+	public double[] binomialCrossover(int i, double[] mutant, double CR, RandomStream rng, double[] out)
+	{
+		int offset = i * dim;
+		int index = rng.randomInteger(dim - 1);
+		for (int j = 0; j < dim; j++)
+			out[j] = (rng.random() < CR || j == index) ? mutant[j] : x[offset + j];
+		return out;
+	}
+
+	/**
+	 * One-to-one survivor selection: the trial solution replaces the i-th individual of this population in the next generation
+	 * if it is strictly better, otherwise the individual survives.
+	 *
+	 * @param next next generation (same size and dimension).
+	 * @param i index of the individual.
+	 * @param trial trial solution.
+	 * @param fTrial fitness value of the trial solution.
+	 * @return true if the trial solution has been selected.
+	 */
+	public boolean select(Population next, int i, double[] trial, double fTrial)
+	{
+		if (fTrial < fitness[i])
+		{
+			next.setRow(i, trial, fTrial);
+			return true;
+		}
+		next.copyRow(this, i, i);
+		return false;
+	}
+}
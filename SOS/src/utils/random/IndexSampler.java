@@ -0,0 +1,65 @@
+package utils.random;
+
+/**
+ * Sampling of k distinct indices out of {0, 1, ..., n-1} in O(k) time, without allocations.
+ *
+ * A permutation of the indices is kept between calls and the first k positions are drawn by a partial Fisher-Yates shuffle
+ * (starting from any permutation, each ordered k-tuple of distinct indices is equally likely).
+ * An index can be excluded from the draw (e.g. the target individual of a DE mutation): it is first swapped to the last position,
+ * which is then left out of the shuffle.
+ */
+public class IndexSampler
+{
+	private final int[] indices; // permutation of 0, ..., n-1
+	private final int[] position; // position[i]: position of index i in indices
+
+	/**
+	 * @param n number of indices.
+	 */
+	public IndexSampler(int n)
+	{
+		indices = new int[n];
+		position = new int[n];
+		for (int i = 0; i < n; i++)
+		{
+			indices[i] = i;
+			position[i] = i;
+		}
+	}
+
+	public int size() { return indices.length; }
+
+	/**
+	 * Draw k distinct indices.
+	 *
+	 * @param rng random number stream.
+	 * @param k number of indices (at most n, or n-1 if an index is excluded).
+	 * @param exclude index that cannot be drawn (-1 for none).
+	 * @param out array where the indices are stored (length at least k).
+	 * @return out.
+	 */
+	public int[] sample(RandomStream rng, int k, int exclude, int[] out)
+	{
+		int n = indices.length;
+		if (exclude >= 0)
+			swap(position[exclude], --n);
+		if (k > n)
+			throw new IllegalArgumentException("Cannot draw " + k + " distinct indices out of " + n);
+		for (int i = 0; i < k; i++)
+		{
+			swap(i, i + rng.nextInt(n - i));
+			out[i] = indices[i];
+		}
+		return out;
+	}
+
+	private void swap(int i, int j)
+	{
+		int a = indices[i];
+		int b = indices[j];
+		indices[i] = b;
+		indices[j] = a;
+		position[b] = i;
+		position[a] = j;
+	}
+}
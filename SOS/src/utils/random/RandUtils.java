@@ -0,0 +1,181 @@
+package utils.random;
+
+import java.util.Random;
+import java.util.Vector;
+
+/**
+ * Random numbers generation.
+ *
+ * Static methods draw from the RandomStream bound to the calling thread (see Algorithm.execute(Problem, int, RandomStream)),
+ * or from a global generator when no stream has been bound. Runs executed in parallel therefore never contend for the same seed.
+ */
+public class RandUtils
+{
+	private static Random random;
+	private static long seed;
+	private static RNGType rngType = RNGType.JAVA;
+	private static final ThreadLocal<RandomStream> stream = new ThreadLocal<RandomStream>();
+
+	private static enum RNGType {JAVA, MERSENNE_TWISTER, LFSR};
+
+	static
+	{
+		setSeed(System.currentTimeMillis());
+	}
+
+	private static void initializeRandom(long seed)
+	{
+		if (rngType == RNGType.JAVA)
+			random = new Random();
+		else if (rngType == RNGType.MERSENNE_TWISTER)
+			random = new MTwisterRandom();
+		else if (rngType == RNGType.LFSR)
+			random = new LFSR(16);
+		random.setSeed(seed);
+	}
+
+	/**
+	 * Set the seed of the global generator.
+	 * Streams of the runs of an experiment are derived from this seed, unless the experiment specifies its own.
+	 */
+	public static void setSeed(long seed)
+	{
+		RandUtils.seed = seed;
+		initializeRandom(seed);
+	}
+
+	public static long getSeed() { return seed; }
+
+	/**
+	 * Bind a stream to the calling thread.
+	 *
+	 * @param s stream of the run executed by this thread (null to go back to the global generator).
+	 */
+	public static void setStream(RandomStream s)
+	{
+		if (s == null)
+			stream.remove();
+		else
+			stream.set(s);
+	}
+
+	/**
+	 * Stream bound to the calling thread.
+	 * If none has been bound yet, a new stream is seeded from the global generator and bound.
+	 *
+	 * @return the stream of the current run.
+	 */
+	public static RandomStream getStream()
+	{
+		RandomStream s = stream.get();
+		if (s == null)
+		{
+			long l;
+			synchronized (RandUtils.class)
+			{
+				l = random.nextLong();
+			}
+			s = new RandomStream(l);
+			stream.set(s);
+		}
+		return s;
+	}
+
+	/**
+	 * Generator in use on the calling thread (the bound stream, if any, otherwise the global generator).
+	 */
+	public static Random getRNG()
+	{
+		RandomStream s = stream.get();
+		return (s != null) ? s : random;
+	}
+
+	public static double random() { return getRNG().nextDouble(); }
+
+	public static int randomInteger(int n) { return (int) Math.round(n * random()); }
+
+	public static int randomIntegerExcl(int min, int max, int excl)
+	{
+		int r;
+		while ((r = min + randomInteger(max - min)) == excl);
+		return r;
+	}
+
+	public static int randomIntegerExcl(int n, int excl)
+	{
+		int r;
+		while ((r = randomInteger(n)) == excl);
+		return r;
+	}
+
+	public static int[] randomPermutation(int[] a)
+	{
+		int n = a.length;
+		int[] p = a.clone();
+		for (int i = n - 1; i > 0; i--)
+		{
+			int j = (int) Math.floor(random() * (i + 1));
+			int tmp = p[j];
+			p[j] = p[i];
+			p[i] = tmp;
+		}
+		return p;
+	}
+
+	public static int[] randomPermutation(int n)
+	{
+		int[] p = new int[n];
+		for (int i = 0; i < n; i++)
+			p[i] = i;
+		for (int i = n - 1; i > 0; i--)
+		{
+			int j = (int) Math.floor(random() * (i + 1));
+			int tmp = p[j];
+			p[j] = p[i];
+			p[i] = tmp;
+		}
+		return p;
+	}
+
+	/**
+	 * Random permutation of the elements of a, excluding the one in position excl.
+	 */
+	public static int[] randomPermutationExcl(int[] a, int excl)
+	{
+		int n = a.length;
+		if (excl < 0 || excl >= n)
+			return a;
+		int[] p = new int[n - 1];
+		int k = 0;
+		for (int i = 0; i < n; i++)
+			if (i != excl)
+				p[k++] = a[i];
+		for (int i = n - 2; i > 0; i--)
+		{
+			int j = (int) Math.floor(random() * (i + 1));
+			int tmp = p[j];
+			p[j] = p[i];
+			p[i] = tmp;
+		}
+		return p;
+	}
+
+	public static double cauchy(double mu, double sigma) { return mu + sigma * Math.tan(Math.PI * (random() - 0.5)); }
+
+	public static double gaussian(double mu, double sigma) { return mu + sigma * getRNG().nextGaussian(); }
+
+	public static double uniform(double a, double b) { return a + (b - a) * random(); }
+
+	public static void main(String[] args)
+	{
+		Vector<Double> v = new Vector<Double>();
+		for (int i = 0; i < 32767; i++)
+		{
+			double d = random();
+			if (v.contains(d))
+				throw new RuntimeException("Index repeat: " + i);
+			v.add(d);
+			System.out.println(d);
+		}
+	}
+}
@@ -0,0 +1,199 @@
+package utils.random;
+
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/**
+ * Random number stream of a single run.
+ *
+ * Each stream is a SplittableRandom generator (not synchronised, not shared between threads) exposed through the
+ * java.util.Random interface, so that it can also be handed to code expecting a Random (e.g. CMAEvolutionStrategy).
+ * Streams are derived from (experiment seed, algorithm, problem, run index): the numbers drawn by a run do not depend
+ * on how many runs are executed in parallel, nor on the order in which they are scheduled.
+ */
+public class RandomStream extends Random
+{
+	private static final long serialVersionUID = 1L;
+
+	private SplittableRandom generator;
+	private double nextNextGaussian;
+	private boolean haveNextNextGaussian = false;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param seed seed of the stream.
+	 */
+	public RandomStream(long seed)
+	{
+		super(seed);
+	}
+
+	private RandomStream(SplittableRandom generator)
+	{
+		super(0L);
+		this.generator = generator;
+	}
+
+	/**
+	 * Stream of a run.
+	 *
+	 * @param seed experiment seed.
+	 * @param algorithm algorithm ID.
+	 * @param problem problem name.
+	 * @param run run index.
+	 * @return the stream of the run.
+	 */
+	public static RandomStream derive(long seed, String algorithm, String problem, int run)
+	{
+		long h = mix(seed);
+		h = mix(h ^ hash(algorithm));
+		h = mix(h ^ hash(problem));
+		h = mix(h ^ run);
+		return new RandomStream(h);
+	}
+
+	@Override
+	public void setSeed(long seed)
+	{
+		// also called by the constructor of java.util.Random
+		generator = new SplittableRandom(seed);
+		haveNextNextGaussian = false;
+	}
+
+	@Override
+	protected int next(int bits)
+	{
+		return generator.nextInt() >>> (32 - bits);
+	}
+
+	@Override
+	public int nextInt()
+	{
+		return generator.nextInt();
+	}
+
+	@Override
+	public int nextInt(int bound)
+	{
+		return generator.nextInt(bound);
+	}
+
+	@Override
+	public long nextLong()
+	{
+		return generator.nextLong();
+	}
+
+	@Override
+	public double nextDouble()
+	{
+		return generator.nextDouble();
+	}
+
+	@Override
+	public boolean nextBoolean()
+	{
+		return generator.nextBoolean();
+	}
+
+	/**
+	 * Polar method (same algorithm of java.util.Random, without synchronisation).
+	 */
+	@Override
+	public double nextGaussian()
+	{
+		if (haveNextNextGaussian)
+		{
+			haveNextNextGaussian = false;
+			return nextNextGaussian;
+		}
+		double v1, v2, s;
+		do
+		{
+			v1 = 2 * generator.nextDouble() - 1;
+			v2 = 2 * generator.nextDouble() - 1;
+			s = v1 * v1 + v2 * v2;
+		}
+		while (s >= 1 || s == 0);
+		double multiplier = Math.sqrt(-2 * Math.log(s) / s);
+		nextNextGaussian = v2 * multiplier;
+		haveNextNextGaussian = true;
+		return v1 * multiplier;
+	}
+
+	/**
+	 * Uniformly distributed number in [0, 1).
+	 */
+	public double random() { return generator.nextDouble(); }
+
+	/**
+	 * Same as RandUtils.randomInteger, i.e. integer in [0, n].
+	 */
+	public int randomInteger(int n) { return (int) Math.round(n * generator.nextDouble()); }
+
+	public double gaussian(double mu, double sigma) { return mu + sigma * nextGaussian(); }
+
+	public double uniform(double a, double b) { return a + (b - a) * generator.nextDouble(); }
+
+	public double cauchy(double mu, double sigma) { return mu + sigma * Math.tan(Math.PI * (generator.nextDouble() - 0.5)); }
+
+	/**
+	 * Random permutation of 0, 1, ..., n-1 (Fisher-Yates, same as RandUtils.randomPermutation).
+	 */
+	public int[] randomPermutation(int n)
+	{
+		int[] p = new int[n];
+		for (int i = 0; i < n; i++)
+			p[i] = i;
+		for (int i = n - 1; i > 0; i--)
+		{
+			int j = (int) Math.floor(generator.nextDouble() * (i + 1));
+			int tmp = p[j];
+			p[j] = p[i];
+			p[i] = tmp;
+		}
+		return p;
+	}
+
+	/**
+	 * Random permutation of the elements of a (a is not modified).
+	 */
+	public int[] randomPermutation(int[] a)
+	{
+		int[] p = a.clone();
+		for (int i = p.length - 1; i > 0; i--)
+		{
+			int j = (int) Math.floor(generator.nextDouble() * (i + 1));
+			int tmp = p[j];
+			p[j] = p[i];
+			p[i] = tmp;
+		}
+		return p;
+	}
+
+	/**
+	 * SplitMix64 finaliser.
+	 */
+	private static long mix(long z)
+	{
+		z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+		z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+		return z ^ (z >>> 31);
+	}
+
+	/**
+	 * 64-bit FNV-1a hash of a string (String.hashCode has only 32 bits).
+	 */
+	private static long hash(String s)
+	{
+		long h = 0xcbf29ce484222325L;
+		if (s != null)
+			for (int i = 0; i < s.length(); i++)
+			{
+				h ^= s.charAt(i);
+				h *= 0x100000001b3L;
+			}
+		return h;
+	}
+}